@@ -0,0 +1,119 @@
+package com.infotech.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.infotech.app.Application;
+import com.infotech.app.model.Greeting;
+import com.infotech.app.repository.GreetingRepository;
+import com.infotech.app.service.GreetingService;
+import com.infotech.app.util.RequestContext;
+
+/**
+ * Benchmarks the GreetingService read path against the HSQLDB in-memory database: <code>findOne</code> served from
+ * a warm cache and from a cold cache, and <code>findAll</code> at several table sizes.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5,
+        time = 1)
+@Measurement(iterations = 5,
+        time = 1)
+@Fork(1)
+public class GreetingServiceBenchmark {
+
+    /**
+     * The username recorded as the creator of the Greetings inserted by the benchmark.
+     */
+    private static final String USERNAME = "benchmark";
+
+    /**
+     * The number of Greeting rows in the table.
+     */
+    @Param({ "100", "1000", "10000" })
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+
+    private GreetingService greetingService;
+
+    private Long id;
+
+    /**
+     * Start the application on the HSQLDB profile and fill the Greeting table.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class).run("--spring.profiles.active=hsqldb",
+                "--server.port=0");
+        greetingService = context.getBean(GreetingService.class);
+        context.getBean(GreetingRepository.class).deleteAllInBatch();
+
+        RequestContext.setUsername(USERNAME);
+        final List<Greeting> greetings = new ArrayList<Greeting>(tableSize);
+        for (int i = 0; i < tableSize; i++) {
+            greetings.add(new Greeting("Hello Benchmark " + i));
+        }
+        id = greetingService.createAll(greetings).get(tableSize / 2).getId();
+        greetingService.evictCache();
+    }
+
+    /**
+     * Stop the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Empties the Greeting cache ahead of each <code>findOneCold</code> invocation. Invocation-level setup adds
+     * timing overhead of its own, which is small beside a database round-trip.
+     */
+    @State(Scope.Thread)
+    public static class ColdCache {
+
+        @Setup(Level.Invocation)
+        public void evict(final GreetingServiceBenchmark benchmark) {
+            benchmark.greetingService.evictCache();
+        }
+
+    }
+
+    @Benchmark
+    public Greeting findOneWarm() {
+        return greetingService.findOne(id);
+    }
+
+    @Benchmark
+    public Greeting findOneCold(final ColdCache coldCache) {
+        return greetingService.findOne(id);
+    }
+
+    @Benchmark
+    public Collection<Greeting> findAll() {
+        return greetingService.findAll();
+    }
+
+}
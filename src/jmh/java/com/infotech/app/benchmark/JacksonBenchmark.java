@@ -0,0 +1,108 @@
+package com.infotech.app.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.infotech.app.model.Greeting;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+
+/**
+ * Benchmarks Jackson serialization of Greeting entities, including the TransactionalEntity audit attributes, with an
+ * ObjectMapper configured like the one Spring Boot builds for the application.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5,
+        time = 1)
+@Measurement(iterations = 5,
+        time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    /**
+     * The number of Greetings in the serialized list.
+     */
+    private static final int LIST_SIZE = 100;
+
+    private ObjectWriter greetingWriter;
+
+    private ObjectWriter listWriter;
+
+    private ObjectReader greetingReader;
+
+    private Greeting greeting;
+
+    private List<Greeting> greetings;
+
+    private String greetingJson;
+
+    /**
+     * Build the ObjectMapper and the Greetings to serialize.
+     * 
+     * @throws JsonProcessingException if a Greeting cannot be serialized.
+     */
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new JodaModule())
+                .build();
+        greetingWriter = objectMapper.writerFor(Greeting.class);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+                Greeting.class));
+        greetingReader = objectMapper.readerFor(Greeting.class);
+
+        greeting = greeting(1L);
+        greetings = new ArrayList<Greeting>(LIST_SIZE);
+        for (long id = 1; id <= LIST_SIZE; id++) {
+            greetings.add(greeting(id));
+        }
+        greetingJson = greetingWriter.writeValueAsString(greeting);
+    }
+
+    private static Greeting greeting(final long id) {
+        final Greeting greeting = new Greeting("Hello Benchmark " + id);
+        greeting.setId(id);
+        greeting.setVersion(0);
+        greeting.setCreatedBy("benchmark");
+        greeting.setCreatedAt(new DateTime());
+        return greeting;
+    }
+
+    @Benchmark
+    public String serializeGreeting() throws JsonProcessingException {
+        return greetingWriter.writeValueAsString(greeting);
+    }
+
+    @Benchmark
+    public byte[] serializeGreetingList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(greetings);
+    }
+
+    @Benchmark
+    public Greeting deserializeGreeting() throws IOException {
+        return greetingReader.readValue(greetingJson);
+    }
+
+}
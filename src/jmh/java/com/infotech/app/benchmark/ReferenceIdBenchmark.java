@@ -0,0 +1,72 @@
+package com.infotech.app.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.infotech.app.model.Greeting;
+import com.infotech.app.util.TimeBasedReferenceIdGenerator;
+
+/**
+ * Benchmarks reference identifier generation: <code>UUID.randomUUID()</code>, which draws from a shared SecureRandom,
+ * against the TimeBasedReferenceIdGenerator, from one thread and from four contending threads. Greeting instantiation
+ * is measured too, as Hibernate and Jackson instantiate an entity for every row read and every request body.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5,
+        time = 1)
+@Measurement(iterations = 5,
+        time = 1)
+@Fork(1)
+public class ReferenceIdBenchmark {
+
+    private TimeBasedReferenceIdGenerator timeBasedGenerator;
+
+    @Setup
+    public void setUp() {
+        timeBasedGenerator = new TimeBasedReferenceIdGenerator();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String randomUuidContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeBased() {
+        return timeBasedGenerator.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String timeBasedContended() {
+        return timeBasedGenerator.generate();
+    }
+
+    @Benchmark
+    public Greeting instantiateGreeting() {
+        return new Greeting();
+    }
+
+}
@@ -31,6 +31,11 @@ public class Application {
      */
     public static final String CACHE_GREETINGS = "greetings";
 
+    /**
+     * The name of the Cache mapping Greeting reference identifiers to primary key identifiers.
+     */
+    public static final String CACHE_GREETING_REFERENCES = "greetingReferences";
+
     /**
      * Entry point for the application.
      * 
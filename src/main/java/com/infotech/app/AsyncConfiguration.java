@@ -0,0 +1,95 @@
+package com.infotech.app;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.infotech.app.util.TaskExecutionStats;
+
+/**
+ * The AsyncConfiguration class supplies the Executor used to run <code>@Async</code> methods. The executor is a
+ * bounded thread pool with a bounded queue. When both are exhausted further submissions are rejected with a
+ * TaskRejectedException, which the web tier reports as HTTP status 503.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Configuration
+public class AsyncConfiguration implements AsyncConfigurer {
+
+    /**
+     * The number of threads kept in the pool.
+     */
+    @Value("${async.executor.corepoolsize}")
+    private transient int corePoolSize;
+
+    /**
+     * The maximum number of threads in the pool, reached only when the queue is full.
+     */
+    @Value("${async.executor.maxpoolsize}")
+    private transient int maxPoolSize;
+
+    /**
+     * The number of tasks which may wait for a thread.
+     */
+    @Value("${async.executor.queuecapacity}")
+    private transient int queueCapacity;
+
+    /**
+     * The number of seconds to wait for queued tasks during shutdown.
+     */
+    @Value("${async.executor.awaitterminationseconds}")
+    private transient int awaitTerminationSeconds;
+
+    /**
+     * Supplies the TaskExecutionStats which records queue wait and execution times of asynchronous tasks.
+     * 
+     * @return A TaskExecutionStats.
+     */
+    @Bean
+    public TaskExecutionStats asyncTaskExecutionStats() {
+        return new TaskExecutionStats();
+    }
+
+    /**
+     * Supplies the bounded ThreadPoolTaskExecutor for <code>@Async</code> methods.
+     * 
+     * @return A ThreadPoolTaskExecutor.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor asyncTaskExecutor() {
+        final TaskExecutionStats stats = asyncTaskExecutionStats();
+        final ThreadPoolExecutor.AbortPolicy abortPolicy = new ThreadPoolExecutor.AbortPolicy();
+
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("async-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(stats);
+        executor.setRejectedExecutionHandler((runnable, threadPoolExecutor) -> {
+            stats.recordRejection();
+            abortPolicy.rejectedExecution(runnable, threadPoolExecutor);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncTaskExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return new SimpleAsyncUncaughtExceptionHandler();
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.infotech.app;
+
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.infotech.app.cache.FileSystemSharedCache;
+import com.infotech.app.cache.NoOpSharedCache;
+import com.infotech.app.cache.SharedCache;
+import com.infotech.app.cache.TwoLevelCacheManager;
+import com.infotech.app.repository.GreetingRepository;
+
+/**
+ * The CacheConfiguration class supplies the CacheManager for <code>@Cacheable</code> methods. Each cache named in
+ * <code>spring.cache.cache-names</code> is a TwoLevelCache with a Caffeine L1, configured by
+ * <code>spring.cache.caffeine.spec</code>, and a SharedCache L2 selected by <code>cache.l2.type</code>: either
+ * <code>none</code> for node-local caching or <code>file</code> for a directory shared by the nodes of a deployment.
+ * The Greeting cache is configured by <code>cache.greetings.spec</code> instead, refreshes its entries from the
+ * GreetingRepository and keeps missing ids in a negative cache configured by
+ * <code>cache.greetings.negative.spec</code>.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Configuration
+public class CacheConfiguration {
+
+    /**
+     * The names of the caches.
+     */
+    @Value("${spring.cache.cache-names}")
+    private transient String[] cacheNames;
+
+    /**
+     * The Caffeine specification of each L1 cache.
+     */
+    @Value("${spring.cache.caffeine.spec}")
+    private transient String spec;
+
+    /**
+     * The Caffeine specification of the Greeting L1 cache.
+     */
+    @Value("${cache.greetings.spec}")
+    private transient String greetingsSpec;
+
+    /**
+     * The Caffeine specification of the cache of missing Greeting ids.
+     */
+    @Value("${cache.greetings.negative.spec}")
+    private transient String greetingsNegativeSpec;
+
+    /**
+     * The Spring Data repository from which Greeting cache entries are refreshed.
+     */
+    @Autowired
+    private transient GreetingRepository greetingRepository;
+
+    /**
+     * Supplies a SharedCache which shares nothing, used when <code>cache.l2.type</code> is <code>none</code>.
+     * 
+     * @return A NoOpSharedCache.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.type",
+            havingValue = "none",
+            matchIfMissing = true)
+    public SharedCache noOpSharedCache() {
+        return new NoOpSharedCache();
+    }
+
+    /**
+     * Supplies a SharedCache kept in the directory <code>cache.l2.file.directory</code>, used when
+     * <code>cache.l2.type</code> is <code>file</code>.
+     * 
+     * @param directory The directory shared by every node.
+     * @param pollMillis The time in milliseconds between polls for invalidations.
+     * @param journalSegmentBytes The size in bytes at which the invalidation journal starts a new segment.
+     * @return A FileSystemSharedCache.
+     */
+    @Bean(initMethod = "start",
+            destroyMethod = "stop")
+    @ConditionalOnProperty(name = "cache.l2.type",
+            havingValue = "file")
+    public SharedCache fileSystemSharedCache(@Value("${cache.l2.file.directory}") final String directory,
+            @Value("${cache.l2.file.pollmillis}") final long pollMillis,
+            @Value("${cache.l2.file.journalbytes}") final long journalSegmentBytes) {
+        return new FileSystemSharedCache(Paths.get(directory), pollMillis, journalSegmentBytes);
+    }
+
+    /**
+     * Supplies the TwoLevelCacheManager.
+     * 
+     * @param sharedCache The SharedCache L2.
+     * @return A CacheManager.
+     */
+    @Bean
+    public CacheManager cacheManager(final SharedCache sharedCache) {
+        final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(sharedCache);
+        for (final String cacheName : cacheNames) {
+            if (Application.CACHE_GREETINGS.equals(cacheName)) {
+                cacheManager.addCache(cacheName, greetingsSpec, greetingsNegativeSpec,
+                        id -> greetingRepository.findOne((Long) id));
+            } else {
+                cacheManager.addCache(cacheName, spec);
+            }
+        }
+        return cacheManager;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.infotech.app;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+import com.infotech.app.util.ReferenceIdGenerator;
+import com.infotech.app.util.ReferenceIds;
+
+/**
+ * The ReferenceIdConfiguration class installs the ReferenceIdGenerator which entities use for their reference
+ * identifiers. Entities use a TimeBasedReferenceIdGenerator unless the application context declares a
+ * ReferenceIdGenerator bean, which then replaces it.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Configuration
+public class ReferenceIdConfiguration {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceIdConfiguration.class);
+
+    /**
+     * The ReferenceIdGenerator declared by the application, if any.
+     */
+    @Autowired(required = false)
+    private transient ReferenceIdGenerator referenceIdGenerator;
+
+    /**
+     * Install the declared ReferenceIdGenerator, if any.
+     */
+    @PostConstruct
+    public void installReferenceIdGenerator() {
+        if (referenceIdGenerator != null) {
+            logger.info("Using ReferenceIdGenerator {}.", referenceIdGenerator.getClass().getName());
+            ReferenceIds.setGenerator(referenceIdGenerator);
+        }
+    }
+
+}
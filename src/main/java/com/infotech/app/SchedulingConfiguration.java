@@ -0,0 +1,49 @@
+package com.infotech.app;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import com.infotech.app.util.MonitoredTaskScheduler;
+
+/**
+ * The SchedulingConfiguration class supplies the TaskScheduler which runs <code>@Scheduled</code> methods when the
+ * <code>batch</code> profile is active. Without it every job shares Spring's default single scheduler thread and a slow
+ * job delays all the others. The MonitoredTaskScheduler gives each job a thread of its own instead, so a slow job
+ * delays only itself.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Configuration
+@Profile("batch")
+public class SchedulingConfiguration implements SchedulingConfigurer {
+
+    /**
+     * The number of seconds to wait for running jobs during shutdown.
+     */
+    @Value("${batch.scheduler.awaitterminationseconds}")
+    private transient int awaitTerminationSeconds;
+
+    /**
+     * Supplies the MonitoredTaskScheduler for <code>@Scheduled</code> methods.
+     * 
+     * @return A MonitoredTaskScheduler.
+     */
+    @Bean
+    public MonitoredTaskScheduler batchTaskScheduler() {
+        final MonitoredTaskScheduler scheduler = new MonitoredTaskScheduler();
+        scheduler.setThreadNamePrefix("batch-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(batchTaskScheduler());
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.infotech.app.actuator.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.infotech.app.cache.GreetingCacheWarmer;
+
+/**
+ * The CacheWarmupHealthIndicator gates readiness on the warm-up of the Greeting cache, which runs in the background
+ * after startup. It reports OUT_OF_SERVICE until the GreetingCacheWarmer has finished, then UP with the outcome,
+ * source, number of Greetings loaded and duration of the warm-up. A warm-up which timed out or failed leaves the cache
+ * colder but the application able to serve, so it is reported as UP with that outcome.
+ *
+ * @author MohammadReza Alagheband
+ *
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    /**
+     * The warmer of the Greeting cache.
+     */
+    @Autowired
+    private transient GreetingCacheWarmer greetingCacheWarmer;
+
+    @Override
+    public Health health() {
+        if (!greetingCacheWarmer.isComplete()) {
+            return Health.outOfService().withDetail("warmup", "in progress").build();
+        }
+        return Health.up().withDetail("outcome", greetingCacheWarmer.getOutcome())
+                .withDetail("source", greetingCacheWarmer.getSource())
+                .withDetail("loaded", greetingCacheWarmer.getLoaded())
+                .withDetail("durationMillis", greetingCacheWarmer.getDurationMillis()).build();
+    }
+
+}
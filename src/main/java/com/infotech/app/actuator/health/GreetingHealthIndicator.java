@@ -1,21 +1,37 @@
 package com.infotech.app.actuator.health;
 
-import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import com.infotech.app.service.GreetingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
-import com.infotech.app.model.Greeting;
-
 /**
  * The GreetingHealthIndicator is an example implementation of a Spring Boot
  * Actuator HealthIndicator. When Actuator's Health Endpoint is invoked, it
  * polls all HealthIndicator implementations to ascertain an aggregate status of
  * the application's health status.
- * 
+ * <p>
+ * The probe reads only the highest Greeting id. It runs on a dedicated thread
+ * and is abandoned after <code>health.greeting.timeoutmillis</code>, reporting
+ * DOWN. The outcome is reused for <code>health.greeting.ttlmillis</code>, and
+ * concurrent health requests share a single in-flight probe.
+ * </p>
+ *
  * @author MohammadReza Alagheband
  *
  */
@@ -28,15 +44,127 @@ public class GreetingHealthIndicator implements HealthIndicator {
     @Autowired
     private transient GreetingService greetingService;
 
+    /**
+     * The time in milliseconds a probe outcome is reused.
+     */
+    @Value("${health.greeting.ttlmillis}")
+    private transient long ttlMillis;
+
+    /**
+     * The time in milliseconds to wait for a probe before reporting DOWN.
+     */
+    @Value("${health.greeting.timeoutmillis}")
+    private transient long timeoutMillis;
+
+    /**
+     * The probe currently running, if any.
+     */
+    private final AtomicReference<CompletableFuture<Health>> inFlight =
+            new AtomicReference<CompletableFuture<Health>>();
+
+    /**
+     * The most recent probe outcome.
+     */
+    private volatile Health lastHealth;
+
+    /**
+     * The time in milliseconds at which the most recent probe outcome was recorded.
+     */
+    private volatile long lastHealthMillis;
+
+    /**
+     * The thread on which probes run, isolating the health endpoint from a slow data store.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Start the probe thread.
+     */
+    @PostConstruct
+    public void start() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-greeting-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Stop the probe thread, abandoning any probe in flight.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
     @Override
     public Health health() {
-        final Collection<Greeting> greetings = greetingService.findAll();
+        final Health cachedHealth = lastHealth;
+        if (cachedHealth != null && System.currentTimeMillis() - lastHealthMillis < ttlMillis) {
+            return cachedHealth;
+        }
+
+        Health health;
+        try {
+            health = probe().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException te) {
+            health = Health.down().withDetail("error", "Probe timed out after " + timeoutMillis + " ms").build();
+        } catch (ExecutionException ee) {
+            health = Health.down().withDetail("error", ee.getCause().getClass().getName() + ": "
+                    + ee.getCause().getMessage()).build();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            health = Health.down().withDetail("error", "Probe interrupted").build();
+        }
+
+        lastHealthMillis = System.currentTimeMillis();
+        lastHealth = health;
+        return health;
+    }
+
+    /**
+     * Returns the probe in flight or starts a new one.
+     *
+     * @return A CompletableFuture which is completed with the Health of the Greeting data store.
+     */
+    private CompletableFuture<Health> probe() {
+        while (true) {
+            final CompletableFuture<Health> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            final CompletableFuture<Health> started = new CompletableFuture<Health>();
+            if (inFlight.compareAndSet(null, started)) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            started.complete(check());
+                        } catch (Exception ex) {
+                            started.completeExceptionally(ex);
+                        } finally {
+                            inFlight.compareAndSet(started, null);
+                        }
+                    });
+                } catch (RejectedExecutionException ree) {
+                    inFlight.compareAndSet(started, null);
+                    started.completeExceptionally(ree);
+                }
+                return started;
+            }
+        }
+    }
+
+    /**
+     * Query the Greeting data store.
+     *
+     * @return The Health of the Greeting data store.
+     */
+    private Health check() {
+        final Long maxId = greetingService.findMaxId();
 
-        if (greetings == null || greetings.isEmpty()) {
-            return Health.down().withDetail("count", 0).build();
+        if (maxId == null) {
+            return Health.down().withDetail("maxId", 0).build();
         }
 
-        return Health.up().withDetail("count", greetings.size()).build();
+        return Health.up().withDetail("maxId", maxId).build();
     }
 
 }
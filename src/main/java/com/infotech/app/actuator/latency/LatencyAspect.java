@@ -0,0 +1,110 @@
+package com.infotech.app.actuator.latency;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The LatencyAspect times every <code>@RequestMapping</code> method of the GreetingController, every GreetingService
+ * method and every GreetingRepository method, recording the latency and outcome of each call in the LatencyRegistry.
+ * </p>
+ * <p>
+ * The LatencyStats of each method are resolved once and cached by Method, so the hot path performs a map lookup, two
+ * <code>System.nanoTime()</code> calls and an allocation-free histogram update. Handler methods which complete
+ * asynchronously, returning a <code>DeferredResult</code> or writing a streamed response, are timed until the handler
+ * returns.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+@Aspect
+@Component
+public class LatencyAspect {
+
+    /**
+     * The registry in which latencies are recorded.
+     */
+    @Autowired
+    private transient LatencyRegistry latencyRegistry;
+
+    private final Map<Method, LatencyStats> controllerStats = new ConcurrentHashMap<Method, LatencyStats>();
+
+    private final Map<Method, LatencyStats> serviceStats = new ConcurrentHashMap<Method, LatencyStats>();
+
+    private final Map<Method, LatencyStats> repositoryStats = new ConcurrentHashMap<Method, LatencyStats>();
+
+    /**
+     * Time a GreetingController request mapping.
+     *
+     * @param joinPoint The intercepted call.
+     * @return The result of the call.
+     * @throws Throwable if the call throws.
+     */
+    @Around("target(com.infotech.app.web.api.GreetingController)"
+            + " && @annotation(org.springframework.web.bind.annotation.RequestMapping)")
+    public Object timeController(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, controllerStats, "controller.GreetingController.");
+    }
+
+    /**
+     * Time a GreetingService method.
+     *
+     * @param joinPoint The intercepted call.
+     * @return The result of the call.
+     * @throws Throwable if the call throws.
+     */
+    @Around("execution(* com.infotech.app.service.GreetingService.*(..))")
+    public Object timeService(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, serviceStats, "service.GreetingService.");
+    }
+
+    /**
+     * Time a GreetingRepository method, including those inherited from the Spring Data repository interfaces.
+     *
+     * @param joinPoint The intercepted call.
+     * @return The result of the call.
+     * @throws Throwable if the call throws.
+     */
+    @Around("target(com.infotech.app.repository.GreetingRepository)"
+            + " && execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, repositoryStats, "repository.GreetingRepository.");
+    }
+
+    /**
+     * Proceed with a call and record its latency.
+     *
+     * @param joinPoint The intercepted call.
+     * @param statsByMethod The cached LatencyStats of the layer, keyed by Method.
+     * @param prefix The prefix of the operation names of the layer.
+     * @return The result of the call.
+     * @throws Throwable if the call throws.
+     */
+    private Object time(final ProceedingJoinPoint joinPoint, final Map<Method, LatencyStats> statsByMethod,
+            final String prefix) throws Throwable {
+        final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LatencyStats stats = statsByMethod.get(method);
+        if (stats == null) {
+            stats = statsByMethod.computeIfAbsent(method, m -> latencyRegistry.stats(prefix + m.getName()));
+        }
+
+        final long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            stats.record(startNanos, System.nanoTime(), failed);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.infotech.app.actuator.latency;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * The LatencyEndpoint is a Spring Boot Actuator Endpoint, mapped to <code>/actuators/latency</code>, which exposes
+ * the call count, error count, throughput rates and latency percentiles of every operation in the LatencyRegistry,
+ * sorted by name. Rates are in calls per second and latencies in milliseconds, both since the application started.
+ *
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class LatencyEndpoint extends AbstractEndpoint<Map<String, Map<String, Object>>> {
+
+    /**
+     * The registry of recorded latencies.
+     */
+    @Autowired
+    private transient LatencyRegistry latencyRegistry;
+
+    /**
+     * Construct a sensitive LatencyEndpoint with the id <code>latency</code>.
+     */
+    public LatencyEndpoint() {
+        super("latency");
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> invoke() {
+        final Map<String, Map<String, Object>> latencies = new TreeMap<String, Map<String, Object>>();
+        for (final LatencyStats stats : latencyRegistry.getAll()) {
+            latencies.put(stats.getName(), stats.snapshot());
+        }
+        return latencies;
+    }
+
+}
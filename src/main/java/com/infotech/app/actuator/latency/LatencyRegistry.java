@@ -0,0 +1,40 @@
+package com.infotech.app.actuator.latency;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The LatencyRegistry holds the LatencyStats of every instrumented operation, keyed by name. Names take the form
+ * <code>{layer}.{SimpleClassName}.{methodName}</code>, for example <code>service.GreetingService.findOne</code>.
+ *
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class LatencyRegistry {
+
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<String, LatencyStats>();
+
+    /**
+     * Returns the stats of an operation, creating them on first use.
+     *
+     * @param name The name of the operation.
+     * @return The LatencyStats of the operation.
+     */
+    public LatencyStats stats(final String name) {
+        return stats.computeIfAbsent(name, LatencyStats::new);
+    }
+
+    /**
+     * Returns the stats of every operation recorded so far.
+     *
+     * @return A Collection of LatencyStats.
+     */
+    public Collection<LatencyStats> getAll() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+}
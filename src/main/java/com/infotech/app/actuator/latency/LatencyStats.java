@@ -0,0 +1,98 @@
+package com.infotech.app.actuator.latency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * <p>
+ * The LatencyStats records the latency and throughput of one instrumented operation: a latency histogram in
+ * microseconds with two significant digits, a RateMeter of completed calls and a count of calls which threw an
+ * exception.
+ * </p>
+ * <p>
+ * The histogram has a fixed range of one microsecond to one hour and is allocated up front, so recording is wait-free
+ * and does not allocate. Latencies beyond the range are recorded as the highest trackable value.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String name;
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS,
+            SIGNIFICANT_DIGITS);
+
+    private final RateMeter meter = new RateMeter();
+
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Construct a LatencyStats.
+     *
+     * @param name The name of the operation.
+     */
+    public LatencyStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @param startNanos The value of <code>System.nanoTime()</code> when the call started.
+     * @param endNanos The value of <code>System.nanoTime()</code> when the call completed.
+     * @param failed Whether the call threw an exception.
+     */
+    public void record(final long startNanos, final long endNanos, final boolean failed) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos);
+        histogram.recordValue(Math.max(0L, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+        meter.mark(endNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the call count, error count, rates in calls per second and latency percentiles in milliseconds.
+     *
+     * @return A Map of statistic names to values.
+     */
+    public Map<String, Object> snapshot() {
+        final Histogram copy = histogram.copy();
+        final Map<String, Object> snapshot = new LinkedHashMap<String, Object>();
+        snapshot.put("count", meter.getCount());
+        snapshot.put("errors", errors.sum());
+        snapshot.put("rate.mean", meter.getMeanRate());
+        snapshot.put("rate.1m", meter.getOneMinuteRate());
+        snapshot.put("rate.5m", meter.getFiveMinuteRate());
+        snapshot.put("rate.15m", meter.getFifteenMinuteRate());
+        if (copy.getTotalCount() > 0) {
+            snapshot.put("latency.min", millis(copy.getMinValue()));
+            snapshot.put("latency.mean", copy.getMean() / 1000.0);
+            snapshot.put("latency.p50", millis(copy.getValueAtPercentile(50.0)));
+            snapshot.put("latency.p90", millis(copy.getValueAtPercentile(90.0)));
+            snapshot.put("latency.p99", millis(copy.getValueAtPercentile(99.0)));
+            snapshot.put("latency.p999", millis(copy.getValueAtPercentile(99.9)));
+            snapshot.put("latency.max", millis(copy.getMaxValue()));
+        }
+        return snapshot;
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.infotech.app.actuator.latency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * The RateMeter measures the rate of events as a mean over its lifetime and as exponentially weighted moving averages
+ * over one, five and fifteen minutes, in events per second.
+ * </p>
+ * <p>
+ * Marking an event adds to striped counters and does not allocate. The moving averages are advanced every five
+ * seconds by whichever thread first observes that a tick is due, so no background thread is needed.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class RateMeter {
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final double TICK_SECONDS = 5.0;
+
+    private static final double ALPHA_1M = 1 - Math.exp(-TICK_SECONDS / 60.0);
+
+    private static final double ALPHA_5M = 1 - Math.exp(-TICK_SECONDS / 300.0);
+
+    private static final double ALPHA_15M = 1 - Math.exp(-TICK_SECONDS / 900.0);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder uncounted = new LongAdder();
+
+    private final long startNanos;
+
+    private final AtomicLong lastTickNanos;
+
+    private volatile boolean initialized;
+
+    private volatile double oneMinuteRate;
+
+    private volatile double fiveMinuteRate;
+
+    private volatile double fifteenMinuteRate;
+
+    /**
+     * Construct a RateMeter starting now.
+     */
+    public RateMeter() {
+        this.startNanos = System.nanoTime();
+        this.lastTickNanos = new AtomicLong(startNanos);
+    }
+
+    /**
+     * Records one event.
+     *
+     * @param nowNanos The current value of <code>System.nanoTime()</code>.
+     */
+    public void mark(final long nowNanos) {
+        tickIfNecessary(nowNanos);
+        count.increment();
+        uncounted.increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean rate since the meter was created.
+     *
+     * @return Events per second.
+     */
+    public double getMeanRate() {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos <= 0 ? 0.0 : count.sum() * 1e9 / elapsedNanos;
+    }
+
+    public double getOneMinuteRate() {
+        tickIfNecessary(System.nanoTime());
+        return oneMinuteRate;
+    }
+
+    public double getFiveMinuteRate() {
+        tickIfNecessary(System.nanoTime());
+        return fiveMinuteRate;
+    }
+
+    public double getFifteenMinuteRate() {
+        tickIfNecessary(System.nanoTime());
+        return fifteenMinuteRate;
+    }
+
+    /**
+     * Advances the moving averages by every tick which has elapsed since the last one. Only the thread which wins the
+     * update of <code>lastTickNanos</code> performs the ticks.
+     *
+     * @param nowNanos The current value of <code>System.nanoTime()</code>.
+     */
+    private void tickIfNecessary(final long nowNanos) {
+        final long lastTick = lastTickNanos.get();
+        final long age = nowNanos - lastTick;
+        if (age < TICK_NANOS) {
+            return;
+        }
+        if (lastTickNanos.compareAndSet(lastTick, nowNanos - age % TICK_NANOS)) {
+            final long ticks = age / TICK_NANOS;
+            for (long i = 0; i < ticks; i++) {
+                tick();
+            }
+        }
+    }
+
+    /**
+     * Folds the events counted during one tick into the moving averages.
+     */
+    private void tick() {
+        final double instantRate = uncounted.sumThenReset() / TICK_SECONDS;
+        if (initialized) {
+            oneMinuteRate += ALPHA_1M * (instantRate - oneMinuteRate);
+            fiveMinuteRate += ALPHA_5M * (instantRate - fiveMinuteRate);
+            fifteenMinuteRate += ALPHA_15M * (instantRate - fifteenMinuteRate);
+        } else {
+            oneMinuteRate = instantRate;
+            fiveMinuteRate = instantRate;
+            fifteenMinuteRate = instantRate;
+            initialized = true;
+        }
+    }
+
+}
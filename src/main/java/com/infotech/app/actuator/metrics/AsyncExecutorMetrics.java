@@ -0,0 +1,58 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.infotech.app.util.TaskExecutionStats;
+
+/**
+ * The AsyncExecutorMetrics is a Spring Boot Actuator PublicMetrics implementation which exposes the queue depth,
+ * thread activity, and task latency of the <code>@Async</code> executor.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class AsyncExecutorMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "executor.async.";
+
+    /**
+     * The executor running <code>@Async</code> methods.
+     */
+    @Autowired
+    private transient ThreadPoolTaskExecutor asyncTaskExecutor;
+
+    /**
+     * The task latency statistics of the executor.
+     */
+    @Autowired
+    private transient TaskExecutionStats asyncTaskExecutionStats;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final Collection<Metric<?>> metrics = new ArrayList<Metric<?>>();
+
+        final ThreadPoolExecutor executor = asyncTaskExecutor.getThreadPoolExecutor();
+        metrics.add(new Metric<Integer>(PREFIX + "queue.size", executor.getQueue().size()));
+        metrics.add(new Metric<Integer>(PREFIX + "queue.remaining", executor.getQueue().remainingCapacity()));
+        metrics.add(new Metric<Integer>(PREFIX + "threads.active", executor.getActiveCount()));
+        metrics.add(new Metric<Integer>(PREFIX + "threads.pool", executor.getPoolSize()));
+
+        metrics.add(new Metric<Long>(PREFIX + "tasks.completed", asyncTaskExecutionStats.getCompleted()));
+        metrics.add(new Metric<Long>(PREFIX + "tasks.rejected", asyncTaskExecutionStats.getRejected()));
+        metrics.add(new Metric<Double>(PREFIX + "tasks.wait.mean", asyncTaskExecutionStats.getMeanWaitMillis()));
+        metrics.add(new Metric<Double>(PREFIX + "tasks.duration.mean",
+                asyncTaskExecutionStats.getMeanExecutionMillis()));
+        metrics.add(new Metric<Long>(PREFIX + "tasks.duration.max", asyncTaskExecutionStats.getMaxExecutionMillis()));
+
+        return metrics;
+    }
+
+}
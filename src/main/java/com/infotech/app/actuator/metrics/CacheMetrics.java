@@ -0,0 +1,63 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.infotech.app.cache.TwoLevelCache;
+
+/**
+ * The CacheMetrics is a Spring Boot Actuator PublicMetrics implementation which exposes, for each TwoLevelCache, the
+ * statistics of its L1 cache together with the hits served from the shared L2, the loads performed, the loads which
+ * were coalesced into another caller's in-flight load, the background refreshes and, where there is one, the size
+ * and hits of the negative cache of missing keys.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class CacheMetrics implements PublicMetrics {
+
+    /**
+     * The CacheManager of the <code>@Cacheable</code> caches.
+     */
+    @Autowired
+    private transient CacheManager cacheManager;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final Collection<Metric<?>> metrics = new ArrayList<Metric<?>>();
+        for (final String cacheName : cacheManager.getCacheNames()) {
+            final Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoLevelCache) {
+                addCacheMetrics(metrics, "cache." + cacheName, (TwoLevelCache) cache);
+            }
+        }
+        return metrics;
+    }
+
+    private void addCacheMetrics(final Collection<Metric<?>> metrics, final String prefix,
+            final TwoLevelCache cache) {
+        final CacheStats stats = cache.getNativeCache().stats();
+        metrics.add(new Metric<Long>(prefix + ".size", cache.getNativeCache().estimatedSize()));
+        metrics.add(new Metric<Long>(prefix + ".hit", stats.hitCount()));
+        metrics.add(new Metric<Long>(prefix + ".miss", stats.missCount()));
+        metrics.add(new Metric<Long>(prefix + ".eviction", stats.evictionCount()));
+        metrics.add(new Metric<Double>(prefix + ".hit.ratio", stats.hitRate()));
+        metrics.add(new Metric<Long>(prefix + ".l2.hit", cache.getSharedHits()));
+        metrics.add(new Metric<Long>(prefix + ".load", cache.getLoads()));
+        metrics.add(new Metric<Long>(prefix + ".load.coalesced", cache.getCoalescedLoads()));
+        metrics.add(new Metric<Long>(prefix + ".refresh", cache.getRefreshes()));
+        if (cache.getNegativeCache() != null) {
+            metrics.add(new Metric<Long>(prefix + ".negative.size", cache.getNegativeCache().estimatedSize()));
+            metrics.add(new Metric<Long>(prefix + ".negative.hit", cache.getNegativeHits()));
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import com.infotech.app.logging.DropAwareAsyncAppender;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.Appender;
+
+/**
+ * The LogShippingMetrics is a Spring Boot Actuator PublicMetrics implementation which exposes the queue depth and the
+ * dropped event counts of the asynchronous appender which ships log events to Logstash.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class LogShippingMetrics implements PublicMetrics {
+
+    /**
+     * The name of the DropAwareAsyncAppender attached to the root logger in <code>logback.xml</code>.
+     */
+    public static final String APPENDER_NAME = "asyncStash";
+
+    private static final String PREFIX = "logging.stash.";
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final DropAwareAsyncAppender appender = findAppender();
+        if (appender == null) {
+            return Collections.emptyList();
+        }
+
+        final Collection<Metric<?>> metrics = new ArrayList<Metric<?>>();
+        metrics.add(new Metric<Integer>(PREFIX + "queue.size", appender.getNumberOfElementsInQueue()));
+        metrics.add(new Metric<Integer>(PREFIX + "queue.remaining", appender.getRemainingCapacity()));
+        metrics.add(new Metric<Long>(PREFIX + "events.appended", appender.getAppendedCount()));
+        metrics.add(new Metric<Long>(PREFIX + "events.discarded", appender.getDiscardedCount()));
+        metrics.add(new Metric<Long>(PREFIX + "events.delivered", appender.getDeliveredCount()));
+        metrics.add(new Metric<Long>(PREFIX + "events.overflowed", appender.getOverflowCount()));
+        metrics.add(new Metric<Long>(PREFIX + "events.dropped", appender.getDroppedCount()));
+        return metrics;
+    }
+
+    /**
+     * Look up the log shipping appender. Logback creates its appenders outside the Spring context, so the appender is
+     * found through the Logback LoggerContext on each call, following any reconfiguration.
+     * 
+     * @return The DropAwareAsyncAppender or <code>null</code> if none is configured.
+     */
+    private DropAwareAsyncAppender findAppender() {
+        final ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return null;
+        }
+        final Logger rootLogger = ((LoggerContext) loggerFactory).getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        final Appender<?> appender = rootLogger.getAppender(APPENDER_NAME);
+        return appender instanceof DropAwareAsyncAppender ? (DropAwareAsyncAppender) appender : null;
+    }
+
+}
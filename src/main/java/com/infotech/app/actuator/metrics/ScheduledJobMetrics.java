@@ -0,0 +1,55 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.infotech.app.util.MonitoredTaskScheduler;
+import com.infotech.app.util.ScheduledJobStats;
+
+/**
+ * The ScheduledJobMetrics is a Spring Boot Actuator PublicMetrics implementation which exposes the thread activity of
+ * the batch scheduler and the runs, missed fires, duration and lag of each scheduled job. Growing lag or missed fires
+ * show that scheduling is falling behind.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+@Profile("batch")
+public class ScheduledJobMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "scheduler.batch.";
+
+    /**
+     * The scheduler running <code>@Scheduled</code> methods.
+     */
+    @Autowired
+    private transient MonitoredTaskScheduler batchTaskScheduler;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final Collection<Metric<?>> metrics = new ArrayList<Metric<?>>();
+
+        metrics.add(new Metric<Integer>(PREFIX + "threads.active", batchTaskScheduler.getActiveCount()));
+        metrics.add(new Metric<Integer>(PREFIX + "threads.pool", batchTaskScheduler.getPoolSize()));
+
+        for (final ScheduledJobStats job : batchTaskScheduler.getJobStats()) {
+            final String prefix = PREFIX + "job." + job.getName() + ".";
+            metrics.add(new Metric<Integer>(prefix + "running", job.isRunning() ? 1 : 0));
+            metrics.add(new Metric<Long>(prefix + "runs", job.getRuns()));
+            metrics.add(new Metric<Long>(prefix + "missed", job.getMissed()));
+            metrics.add(new Metric<Long>(prefix + "duration.last", job.getLastDurationMillis()));
+            metrics.add(new Metric<Long>(prefix + "duration.max", job.getMaxDurationMillis()));
+            metrics.add(new Metric<Long>(prefix + "lag.last", job.getLastLagMillis()));
+            metrics.add(new Metric<Long>(prefix + "lag.max", job.getMaxLagMillis()));
+        }
+
+        return metrics;
+    }
+
+}
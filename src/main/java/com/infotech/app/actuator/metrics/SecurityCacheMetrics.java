@@ -0,0 +1,53 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.infotech.app.security.AccountUserCache;
+import com.infotech.app.security.AuthenticationCache;
+
+/**
+ * The SecurityCacheMetrics is a Spring Boot Actuator PublicMetrics implementation which exposes the statistics of the
+ * caches used during authentication on the Actuator metrics endpoint.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class SecurityCacheMetrics implements PublicMetrics {
+
+    /**
+     * The cache of verified credentials.
+     */
+    @Autowired
+    private transient AuthenticationCache authenticationCache;
+
+    /**
+     * The cache of UserDetails.
+     */
+    @Autowired
+    private transient AccountUserCache accountUserCache;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final Collection<Metric<?>> metrics = new ArrayList<Metric<?>>();
+        addCacheMetrics(metrics, "cache.authentication", authenticationCache.stats(), authenticationCache.size());
+        addCacheMetrics(metrics, "cache.accounts", accountUserCache.stats(), accountUserCache.size());
+        return metrics;
+    }
+
+    private void addCacheMetrics(final Collection<Metric<?>> metrics, final String prefix, final CacheStats stats,
+            final long size) {
+        metrics.add(new Metric<Long>(prefix + ".size", size));
+        metrics.add(new Metric<Long>(prefix + ".hit", stats.hitCount()));
+        metrics.add(new Metric<Long>(prefix + ".miss", stats.missCount()));
+        metrics.add(new Metric<Long>(prefix + ".eviction", stats.evictionCount()));
+        metrics.add(new Metric<Double>(prefix + ".hit.ratio", stats.hitRate()));
+    }
+
+}
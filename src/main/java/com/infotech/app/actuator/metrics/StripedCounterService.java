@@ -0,0 +1,83 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The StripedCounterService is a CounterService whose counters are LongAdders, registered once per name and then
+ * looked up without locking. Incrementing an existing counter neither allocates nor contends: concurrent threads add
+ * to separate cells which are only summed when the counters are exported.
+ * </p>
+ * <p>
+ * The counters are exported on demand as Spring Boot Actuator PublicMetrics, named <code>counter.{name}</code> unless
+ * the name already starts with <code>counter.</code> or <code>meter.</code>. This bean replaces the CounterService
+ * provided by Spring Boot, so callers should pass constant names rather than building them on each call.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class StripedCounterService implements CounterService, PublicMetrics {
+
+    private static final String PREFIX = "counter.";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+
+    /**
+     * Returns the counter for a name, registering it on first use.
+     *
+     * @param metricName The name of the counter.
+     * @return The LongAdder holding the value of the counter.
+     */
+    public LongAdder register(final String metricName) {
+        final LongAdder counter = counters.get(metricName);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(metricName.intern(), name -> new LongAdder());
+    }
+
+    @Override
+    public void increment(final String metricName) {
+        register(metricName).increment();
+    }
+
+    @Override
+    public void decrement(final String metricName) {
+        register(metricName).decrement();
+    }
+
+    @Override
+    public void reset(final String metricName) {
+        final LongAdder counter = counters.get(metricName);
+        if (counter != null) {
+            counter.reset();
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final Collection<Metric<?>> metrics = new ArrayList<Metric<?>>(counters.size());
+        for (final Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            metrics.add(new Metric<Long>(exportName(entry.getKey()), entry.getValue().sum()));
+        }
+        return metrics;
+    }
+
+    private static String exportName(final String metricName) {
+        if (metricName.startsWith(PREFIX) || metricName.startsWith("meter.")) {
+            return metricName;
+        }
+        return PREFIX + metricName;
+    }
+
+}
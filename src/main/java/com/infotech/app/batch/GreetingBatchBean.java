@@ -1,9 +1,8 @@
 package com.infotech.app.batch;
 
-import java.util.Collection;
+import java.util.List;
 
 import com.infotech.app.model.Greeting;
-import com.infotech.app.service.GreetingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +13,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * The GreetingBatchBean contains <code>@Scheduled</code> methods operating on
- * Greeting entities to perform batch operations.
+ * Greeting entities to perform batch operations. Each job processes only the
+ * Greetings changed since its previous run.
  * 
  * @author MohammadReza Alagheband
  */
@@ -28,7 +28,7 @@ public class GreetingBatchBean {
     private static final Logger logger = LoggerFactory
             .getLogger(GreetingBatchBean.class);
 
-    private static final String MESSAGE_FORMAT = "There are {} greetings in the data store.";
+    private static final String MESSAGE_FORMAT = "There are {} changed greetings in this chunk.";
 
     /**
      * The <code>CounterService</code> captures metrics for Spring Actuator.
@@ -37,10 +37,10 @@ public class GreetingBatchBean {
     private transient CounterService counterService;
 
     /**
-     * The GreetingService business service.
+     * The runner which supplies each job with the Greetings changed since it last ran.
      */
     @Autowired
-    private transient GreetingService greetingService;
+    private transient IncrementalGreetingJobRunner jobRunner;
 
     /**
      * Use a cron expression to execute logic on a schedule. Expression: second
@@ -58,8 +58,7 @@ public class GreetingBatchBean {
 
         // Add scheduled logic here
 
-        final Collection<Greeting> greetings = greetingService.findAll();
-        logger.info(MESSAGE_FORMAT, greetings.size());
+        jobRunner.run("greeting.cronJob", this::logChanges);
 
         logger.info("< cronJob");
     }
@@ -79,8 +78,7 @@ public class GreetingBatchBean {
 
         // Add scheduled logic here
 
-        final Collection<Greeting> greetings = greetingService.findAll();
-        logger.info(MESSAGE_FORMAT, greetings.size());
+        jobRunner.run("greeting.fixedRateJob", this::logChanges);
 
         logger.info("< fixedRateJob");
     }
@@ -103,8 +101,7 @@ public class GreetingBatchBean {
 
         // Add scheduled logic here
 
-        final Collection<Greeting> greetings = greetingService.findAll();
-        logger.info(MESSAGE_FORMAT, greetings.size());
+        jobRunner.run("greeting.fixedRateJobWithInitialDelay", this::logChanges);
 
         logger.info("< fixedRateJobWithInitialDelay");
     }
@@ -124,8 +121,7 @@ public class GreetingBatchBean {
 
         // Add scheduled logic here
 
-        final Collection<Greeting> greetings = greetingService.findAll();
-        logger.info(MESSAGE_FORMAT, greetings.size());
+        jobRunner.run("greeting.fixedDelayJob", this::logChanges);
 
         logger.info("< fixedDelayJob");
     }
@@ -148,10 +144,18 @@ public class GreetingBatchBean {
 
         // Add scheduled logic here
 
-        final Collection<Greeting> greetings = greetingService.findAll();
-        logger.info(MESSAGE_FORMAT, greetings.size());
+        jobRunner.run("greeting.fixedDelayJobWithInitialDelay", this::logChanges);
 
         logger.info("< fixedDelayJobWithInitialDelay");
     }
 
+    /**
+     * Process a chunk of changed Greetings.
+     * 
+     * @param greetings A List of Greetings changed since the job last ran.
+     */
+    private void logChanges(final List<Greeting> greetings) {
+        logger.info(MESSAGE_FORMAT, greetings.size());
+    }
+
 }
@@ -0,0 +1,147 @@
+package com.infotech.app.batch;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.infotech.app.model.BatchJobCheckpoint;
+import com.infotech.app.model.Greeting;
+import com.infotech.app.repository.BatchJobCheckpointRepository;
+import com.infotech.app.service.GreetingService;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * The IncrementalGreetingJobRunner runs batch jobs over the Greeting entities modified since each job last ran. Every
+ * job has a BatchJobCheckpoint, keyed by job name, holding the modification timestamp and id of the last Greeting it
+ * processed.
+ * </p>
+ * <p>
+ * A run reads Greetings after the checkpoint in chunks of <code>batch.greeting.chunksize</code>, hands each chunk to
+ * the job, then advances and saves the checkpoint. A failed run resumes from the last completed chunk. Greetings
+ * modified within the last <code>batch.greeting.settlemillis</code> are left for the next run so that transactions
+ * still committing with an earlier timestamp are not skipped.
+ * </p>
+ * <p>
+ * Each run records the gauges <code>batch.{job}.items</code>, <code>batch.{job}.chunks</code>,
+ * <code>batch.{job}.duration</code> in milliseconds and <code>batch.{job}.throughput</code> in items per second.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+@Component
+@Profile("batch")
+public class IncrementalGreetingJobRunner {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalGreetingJobRunner.class);
+
+    /**
+     * The <code>CounterService</code> captures metrics for Spring Actuator.
+     */
+    @Autowired
+    private transient CounterService counterService;
+
+    /**
+     * The <code>GaugeService</code> captures per-run metrics for Spring Actuator.
+     */
+    @Autowired
+    private transient GaugeService gaugeService;
+
+    /**
+     * The GreetingService business service.
+     */
+    @Autowired
+    private transient GreetingService greetingService;
+
+    /**
+     * The Spring Data repository for BatchJobCheckpoint entities.
+     */
+    @Autowired
+    private transient BatchJobCheckpointRepository checkpointRepository;
+
+    /**
+     * The number of Greetings read and processed at a time.
+     */
+    @Value("${batch.greeting.chunksize}")
+    private transient int chunkSize;
+
+    /**
+     * The time in milliseconds recent modifications are left to settle before being processed.
+     */
+    @Value("${batch.greeting.settlemillis}")
+    private transient long settleMillis;
+
+    /**
+     * Run a job over the Greetings modified since its checkpoint.
+     *
+     * @param jobName The name of the job, identifying its checkpoint and metrics.
+     * @param job A Consumer invoked with each chunk of modified Greetings, in modification order.
+     * @return The number of Greetings processed.
+     */
+    public long run(final String jobName, final Consumer<List<Greeting>> job) {
+        logger.info("> run {}", jobName);
+
+        counterService.increment("batch." + jobName + ".runs");
+
+        final long startMillis = System.currentTimeMillis();
+        final DateTime settledBefore = new DateTime(startMillis - settleMillis);
+
+        BatchJobCheckpoint checkpoint = checkpointRepository.findOne(jobName);
+        if (checkpoint == null) {
+            checkpoint = new BatchJobCheckpoint(jobName);
+        }
+
+        long items = 0;
+        long chunks = 0;
+        boolean more = true;
+        while (more) {
+            final List<Greeting> changed = greetingService.findChangedSince(checkpoint.getMarkAt(),
+                    checkpoint.getMarkId(), chunkSize);
+            more = changed.size() == chunkSize;
+
+            // Greetings are in modification order; stop at the first one which has not settled
+            int settled = 0;
+            while (settled < changed.size() && changed.get(settled).getModifiedAt().isBefore(settledBefore)) {
+                settled++;
+            }
+            if (settled < changed.size()) {
+                more = false;
+            }
+            if (settled == 0) {
+                break;
+            }
+
+            final List<Greeting> chunk = changed.subList(0, settled);
+            job.accept(chunk);
+
+            final Greeting last = chunk.get(chunk.size() - 1);
+            checkpoint.setMarkAt(last.getModifiedAt());
+            checkpoint.setMarkId(last.getId());
+            checkpoint.setUpdatedAt(new DateTime());
+            checkpoint = checkpointRepository.save(checkpoint);
+
+            items += chunk.size();
+            chunks++;
+        }
+
+        final long durationMillis = Math.max(1L, System.currentTimeMillis() - startMillis);
+        gaugeService.submit("batch." + jobName + ".items", items);
+        gaugeService.submit("batch." + jobName + ".chunks", chunks);
+        gaugeService.submit("batch." + jobName + ".duration", durationMillis);
+        gaugeService.submit("batch." + jobName + ".throughput", items * 1000.0 / durationMillis);
+
+        logger.info("< run {} processed {} greetings in {} chunks", jobName, items, chunks);
+        return items;
+    }
+
+}
@@ -0,0 +1,413 @@
+package com.infotech.app.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * <p>
+ * The FileSystemSharedCache is a SharedCache kept in a directory which every node can reach, intended as a local
+ * stand-in for a shared cache server during development and testing. Entries are stored as serialized files, one per
+ * key, under a sub-directory per cache. Entries are written to a temporary file and moved into place so readers never
+ * observe a partial entry. Each entry file begins with the time at which the entry expires; an expired entry is read
+ * as a miss and replaced by the next write of its key.
+ * </p>
+ * <p>
+ * Invalidations are appended, under a file lock, to a journal in the directory. Each node polls the journal every
+ * <code>pollMillis</code> for lines appended since it last looked and passes those published by other nodes to its
+ * invalidation listener. A node starts reading from the end of the journal.
+ * </p>
+ * <p>
+ * The journal is kept as numbered segments. Once the current segment reaches <code>journalSegmentBytes</code>, the
+ * next invalidation starts a new segment and every segment before the one just filled is deleted. A node which falls
+ * more than a segment behind finds unread lines deleted and, having lost invalidations, tells its listener that every
+ * entry of every cache has changed.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class FileSystemSharedCache implements SharedCache {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemSharedCache.class);
+
+    private static final String JOURNAL_PREFIX = "invalidations-";
+
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private static final String JOURNAL_LOCK = "invalidations.lock";
+
+    /**
+     * Serializes publishers within this JVM, since a FileLock only excludes other processes.
+     */
+    private static final Object JOURNAL_MUTEX = new Object();
+
+    private static final String ALL_KEYS = "*";
+
+    private static final char SEPARATOR = '\t';
+
+    private final Path directory;
+
+    private final Path journalLock;
+
+    private final long pollMillis;
+
+    private final long journalSegmentBytes;
+
+    private final LongSupplier clock;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile BiConsumer<String, Object> invalidationListener;
+
+    private long journalSegment;
+
+    private long journalOffset;
+
+    private ScheduledExecutorService poller;
+
+    /**
+     * Construct a FileSystemSharedCache.
+     *
+     * @param directory The directory shared by every node.
+     * @param pollMillis The time in milliseconds between polls of the invalidation journal.
+     * @param journalSegmentBytes The size in bytes at which the invalidation journal starts a new segment.
+     */
+    public FileSystemSharedCache(final Path directory, final long pollMillis, final long journalSegmentBytes) {
+        this(directory, pollMillis, journalSegmentBytes, System::currentTimeMillis);
+    }
+
+    /**
+     * Construct a FileSystemSharedCache with the supplied clock.
+     *
+     * @param directory The directory shared by every node.
+     * @param pollMillis The time in milliseconds between polls of the invalidation journal.
+     * @param journalSegmentBytes The size in bytes at which the invalidation journal starts a new segment.
+     * @param clock Supplies the current time in milliseconds.
+     */
+    FileSystemSharedCache(final Path directory, final long pollMillis, final long journalSegmentBytes,
+            final LongSupplier clock) {
+        this.directory = directory;
+        this.journalLock = directory.resolve(JOURNAL_LOCK);
+        this.pollMillis = pollMillis;
+        this.journalSegmentBytes = journalSegmentBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Create the directory and start polling the invalidation journal from its current end.
+     *
+     * @throws IOException if the directory cannot be created.
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        final List<Long> segments = journalSegments();
+        journalSegment = segments.isEmpty() ? 0L : segments.get(segments.size() - 1);
+        final Path segment = journalPath(journalSegment);
+        journalOffset = Files.exists(segment) ? Files.size(segment) : 0L;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-l2-");
+        threadFactory.setDaemon(true);
+        poller = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        logger.info("Shared cache node {} using {}", nodeId, directory);
+    }
+
+    /**
+     * Stop polling the invalidation journal.
+     */
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    @Override
+    public ValueWrapper get(final String cacheName, final Object key) {
+        try {
+            final ByteBuffer entry = ByteBuffer.wrap(Files.readAllBytes(entryPath(cacheName, key)));
+            final long expiresAt = entry.getLong();
+            if (expiresAt != 0L && expiresAt <= clock.getAsLong()) {
+                return null;
+            }
+            return new SimpleValueWrapper(deserialize(entry));
+        } catch (NoSuchFileException nsfe) {
+            return null;
+        } catch (IOException | ClassNotFoundException | BufferUnderflowException ex) {
+            logger.warn("Shared cache read failed for {} {}: {}", cacheName, key, ex.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(final String cacheName, final Object key, final Object value, final long ttlMillis) {
+        if (!(value instanceof Serializable)) {
+            return;
+        }
+        try {
+            final Path entry = entryPath(cacheName, key);
+            Files.createDirectories(entry.getParent());
+            final Path temporary = Files.createTempFile(entry.getParent(), "entry-", ".tmp");
+            final byte[] bytes = serialize(value);
+            final long expiresAt = ttlMillis > 0L ? clock.getAsLong() + ttlMillis : 0L;
+            final ByteBuffer entryBytes = ByteBuffer.allocate(Long.BYTES + bytes.length).putLong(expiresAt).put(bytes);
+            Files.write(temporary, entryBytes.array());
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            logger.warn("Shared cache write failed for {} {}: {}", cacheName, key, ioe.toString());
+        }
+    }
+
+    @Override
+    public void evict(final String cacheName, final Object key) {
+        try {
+            Files.deleteIfExists(entryPath(cacheName, key));
+        } catch (IOException ioe) {
+            logger.warn("Shared cache evict failed for {} {}: {}", cacheName, key, ioe.toString());
+        }
+    }
+
+    @Override
+    public void clear(final String cacheName) {
+        final Path cacheDirectory = directory.resolve(cacheName);
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory)) {
+            for (final Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException ioe) {
+            logger.warn("Shared cache clear failed for {}: {}", cacheName, ioe.toString());
+        }
+    }
+
+    @Override
+    public void publishInvalidation(final String cacheName, final Object key) {
+        try {
+            final String encodedKey = key == null ? ALL_KEYS : Base64.getEncoder().encodeToString(serialize(key));
+            final String line = nodeId + SEPARATOR + cacheName + SEPARATOR + encodedKey + '\n';
+            synchronized (JOURNAL_MUTEX) {
+                try (FileChannel lockChannel = FileChannel.open(journalLock, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE); FileLock lock = lockChannel.lock()) {
+                    try (FileChannel channel = FileChannel.open(journalPath(currentSegment()),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                        channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+                    }
+                }
+            }
+        } catch (IOException ioe) {
+            logger.warn("Shared cache invalidation failed for {} {}: {}", cacheName, key, ioe.toString());
+        }
+    }
+
+    @Override
+    public void setInvalidationListener(final BiConsumer<String, Object> listener) {
+        this.invalidationListener = listener;
+    }
+
+    /**
+     * Returns the journal segment to which the next invalidation is appended, starting a new segment and deleting those
+     * no longer needed once the current segment is full. Must be called holding the journal lock.
+     *
+     * @return The index of the segment.
+     * @throws IOException if the journal cannot be read.
+     */
+    private long currentSegment() throws IOException {
+        final List<Long> segments = journalSegments();
+        if (segments.isEmpty()) {
+            return 0L;
+        }
+        final long current = segments.get(segments.size() - 1);
+        if (Files.size(journalPath(current)) < journalSegmentBytes) {
+            return current;
+        }
+        // nodes may still be reading the segment just filled; every earlier one has been read or given up on
+        for (final Long segment : segments) {
+            if (segment < current) {
+                Files.deleteIfExists(journalPath(segment));
+            }
+        }
+        return current + 1;
+    }
+
+    /**
+     * Read the complete lines appended to the invalidation journal since the last poll and pass the invalidations
+     * published by other nodes to the listener. If lines this node had not read were deleted, the listener is told
+     * that every entry of every cache has changed.
+     */
+    void poll() {
+        try {
+            final List<Long> segments = journalSegments();
+            if (segments.isEmpty()) {
+                return;
+            }
+            if (journalSegment < segments.get(0)) {
+                journalLost();
+                journalSegment = segments.get(0);
+                journalOffset = 0L;
+            }
+            for (final Long segment : segments) {
+                if (segment < journalSegment) {
+                    continue;
+                }
+                if (segment > journalSegment) {
+                    journalSegment = segment;
+                    journalOffset = 0L;
+                }
+                if (!readSegment(journalPath(segment))) {
+                    journalLost();
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Shared cache journal poll failed: {}", ex.toString());
+        }
+    }
+
+    /**
+     * Read the complete lines of a journal segment from the current offset and advance the offset past them.
+     *
+     * @param segment The Path of the journal segment.
+     * @return <code>false</code> if the segment was deleted before it could be read.
+     * @throws IOException if the segment cannot be read.
+     */
+    private boolean readSegment(final Path segment) throws IOException {
+        final byte[] appended;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < journalOffset) {
+                logger.warn("Shared cache journal {} was truncated; reading from its start.", segment);
+                journalOffset = 0L;
+            }
+            if (size == journalOffset) {
+                return true;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size - journalOffset, Integer.MAX_VALUE));
+            channel.read(buffer, journalOffset);
+            appended = buffer.array();
+        } catch (NoSuchFileException nsfe) {
+            return false;
+        }
+
+        int lineStart = 0;
+        for (int i = 0; i < appended.length; i++) {
+            if (appended[i] == '\n') {
+                receive(new String(appended, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                lineStart = i + 1;
+            }
+        }
+        // a partially written last line is read again on the next poll
+        journalOffset += lineStart;
+        return true;
+    }
+
+    /**
+     * Tell the listener that invalidations were lost, so every entry of every cache must be treated as changed.
+     */
+    private void journalLost() {
+        logger.warn("Shared cache node {} fell behind the journal; invalidating every local entry.", nodeId);
+        final BiConsumer<String, Object> listener = invalidationListener;
+        if (listener != null) {
+            listener.accept(null, null);
+        }
+    }
+
+    /**
+     * Returns the indexes of the journal segments in the directory, in ascending order.
+     *
+     * @return A List of segment indexes.
+     * @throws IOException if the directory cannot be read.
+     */
+    private List<Long> journalSegments() throws IOException {
+        final List<Long> segments = new ArrayList<Long>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JOURNAL_PREFIX + "*" + JOURNAL_SUFFIX)) {
+            for (final Path file : files) {
+                final String fileName = file.getFileName().toString();
+                try {
+                    segments.add(Long.valueOf(fileName.substring(JOURNAL_PREFIX.length(),
+                            fileName.length() - JOURNAL_SUFFIX.length())));
+                } catch (NumberFormatException nfe) {
+                    logger.debug("- ignoring {}", fileName);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private Path journalPath(final long segment) {
+        return directory.resolve(JOURNAL_PREFIX + segment + JOURNAL_SUFFIX);
+    }
+
+    private void receive(final String line) {
+        final String[] fields = line.split(String.valueOf(SEPARATOR), 3);
+        final BiConsumer<String, Object> listener = invalidationListener;
+        if (fields.length < 3 || nodeId.equals(fields[0]) || listener == null) {
+            return;
+        }
+        try {
+            final Object key = ALL_KEYS.equals(fields[2]) ? null : deserialize(Base64.getDecoder().decode(fields[2]));
+            listener.accept(fields[1], key);
+        } catch (IOException | ClassNotFoundException | IllegalArgumentException ex) {
+            logger.warn("Shared cache ignored invalidation {}: {}", line, ex.toString());
+        }
+    }
+
+    private Path entryPath(final String cacheName, final Object key) throws IOException {
+        return directory.resolve(cacheName).resolve(Hashing.sha256().hashBytes(serialize(key)).toString());
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        return deserialize(ByteBuffer.wrap(bytes));
+    }
+
+    private static Object deserialize(final ByteBuffer bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.array(), bytes.position(), bytes.remaining()))) {
+            return in.readObject();
+        }
+    }
+
+}
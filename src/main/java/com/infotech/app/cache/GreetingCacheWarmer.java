@@ -0,0 +1,282 @@
+package com.infotech.app.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.infotech.app.Application;
+import com.infotech.app.model.Greeting;
+import com.infotech.app.repository.GreetingRepository;
+
+import com.google.common.collect.Lists;
+
+/**
+ * <p>
+ * The GreetingCacheWarmer preloads the Greeting cache on a background thread once the application context is
+ * refreshed, so warm-up does not delay the start of the embedded server. Readiness is gated instead: the
+ * CacheWarmupHealthIndicator reports OUT_OF_SERVICE until warm-up has finished and then reports its outcome, which is
+ * one of <code>complete</code>, <code>timeout</code>, <code>failed</code> or <code>disabled</code>.
+ * </p>
+ * <p>
+ * At shutdown the ids of the <code>cache.greetings.warmup.size</code> most frequently used entries are written to
+ * <code>cache.greetings.warmup.snapshot</code>. Warm-up loads the Greetings listed in the snapshot or, if there is
+ * none, the most recently modified Greetings. They are loaded in chunks of
+ * <code>cache.greetings.warmup.chunksize</code> on <code>cache.greetings.warmup.threads</code> threads and added only
+ * where the cache has no entry yet. Warm-up is abandoned after <code>cache.greetings.warmup.timeoutseconds</code>.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class GreetingCacheWarmer implements ApplicationListener<ContextRefreshedEvent> {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(GreetingCacheWarmer.class);
+
+    /**
+     * The Spring Data repository for Greeting entities.
+     */
+    @Autowired
+    private transient GreetingRepository greetingRepository;
+
+    /**
+     * The CacheManager holding the Greeting cache.
+     */
+    @Autowired
+    private transient CacheManager cacheManager;
+
+    /**
+     * Whether the cache is warmed on startup.
+     */
+    @Value("${cache.greetings.warmup.enabled}")
+    private transient boolean enabled;
+
+    /**
+     * The number of Greetings recorded at shutdown and loaded on startup.
+     */
+    @Value("${cache.greetings.warmup.size}")
+    private transient int size;
+
+    /**
+     * The number of Greetings loaded by one query.
+     */
+    @Value("${cache.greetings.warmup.chunksize}")
+    private transient int chunkSize;
+
+    /**
+     * The number of chunks loaded concurrently.
+     */
+    @Value("${cache.greetings.warmup.threads}")
+    private transient int threads;
+
+    /**
+     * The time in seconds after which warm-up is abandoned.
+     */
+    @Value("${cache.greetings.warmup.timeoutseconds}")
+    private transient long timeoutSeconds;
+
+    /**
+     * The file holding the ids of the most frequently used Greetings.
+     */
+    @Value("${cache.greetings.warmup.snapshot}")
+    private transient String snapshot;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean complete;
+
+    private volatile String outcome = "pending";
+
+    private volatile String source = "none";
+
+    private volatile int loaded;
+
+    private volatile long durationMillis;
+
+    @Override
+    public void onApplicationEvent(final ContextRefreshedEvent event) {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        if (!enabled) {
+            outcome = "disabled";
+            complete = true;
+            return;
+        }
+        final Thread warmUpThread = new Thread(() -> {
+            try {
+                warmUp();
+            } catch (RuntimeException re) {
+                outcome = "failed";
+                logger.warn("Greeting cache warm-up failed: {}", re.toString());
+            } finally {
+                complete = true;
+            }
+        }, "cache-warmup");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    /**
+     * Record the ids of the most frequently used Greetings for the next warm-up.
+     */
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        final com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        final Map<Object, Object> hottest = nativeCache.policy().eviction()
+                .map(eviction -> eviction.hottest(size)).orElse(nativeCache.asMap());
+
+        final List<String> lines = new ArrayList<String>(hottest.size());
+        for (final Map.Entry<Object, Object> entry : hottest.entrySet()) {
+            if (entry.getKey() instanceof Long && entry.getValue() != null && lines.size() < size) {
+                lines.add(entry.getKey().toString());
+            }
+        }
+
+        try {
+            final Path path = Paths.get(snapshot);
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            final Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), "snapshot-", ".tmp");
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Recorded {} hottest greetings in {}", lines.size(), path);
+        } catch (IOException ioe) {
+            logger.warn("Cannot record hottest greetings in {}: {}", snapshot, ioe.toString());
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public int getLoaded() {
+        return loaded;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Load the Greetings listed in the snapshot, or the most recently modified ones, into the cache.
+     */
+    private void warmUp() {
+        final long startMillis = System.currentTimeMillis();
+
+        List<Long> ids = readSnapshot();
+        if (ids.isEmpty()) {
+            source = "recent";
+            ids = greetingRepository.findRecentlyModifiedIds(new PageRequest(0, size));
+        } else {
+            source = "snapshot";
+        }
+
+        final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+        final AtomicInteger count = new AtomicInteger();
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-warmup-");
+        threadFactory.setDaemon(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+        try {
+            final List<CompletableFuture<Void>> chunks = new ArrayList<CompletableFuture<Void>>();
+            for (final List<Long> chunk : Lists.partition(ids, chunkSize)) {
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    for (final Greeting greeting : greetingRepository.findAll(chunk)) {
+                        if (cache.putIfAbsent(greeting.getId(), greeting) == null) {
+                            count.incrementAndGet();
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[chunks.size()]))
+                    .get(timeoutSeconds, TimeUnit.SECONDS);
+            outcome = "complete";
+        } catch (TimeoutException te) {
+            outcome = "timeout";
+            logger.warn("Greeting cache warm-up abandoned after {} seconds.", timeoutSeconds);
+        } catch (ExecutionException ee) {
+            outcome = "failed";
+            logger.warn("Greeting cache warm-up failed: {}", ee.getCause().toString());
+        } catch (InterruptedException ie) {
+            outcome = "failed";
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        loaded = count.get();
+        durationMillis = System.currentTimeMillis() - startMillis;
+        logger.info("Greeting cache warmed with {} of {} {} greetings in {} ms", loaded, ids.size(), source,
+                durationMillis);
+    }
+
+    /**
+     * Read the ids recorded at the last shutdown.
+     *
+     * @return A List of Greeting ids, empty if there is no snapshot.
+     */
+    private List<Long> readSnapshot() {
+        final List<Long> ids = new ArrayList<Long>();
+        try {
+            for (final String line : Files.readAllLines(Paths.get(snapshot), StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty() && ids.size() < size) {
+                    ids.add(Long.valueOf(line.trim()));
+                }
+            }
+        } catch (NoSuchFileException nsfe) {
+            logger.info("No greeting cache snapshot at {}", snapshot);
+        } catch (IOException | NumberFormatException ex) {
+            logger.warn("Cannot read greeting cache snapshot {}: {}", snapshot, ex.toString());
+            ids.clear();
+        }
+        return ids;
+    }
+
+}
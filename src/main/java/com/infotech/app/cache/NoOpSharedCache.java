@@ -0,0 +1,45 @@
+package com.infotech.app.cache;
+
+import java.util.function.BiConsumer;
+
+import org.springframework.cache.Cache.ValueWrapper;
+
+/**
+ * The NoOpSharedCache is a SharedCache which stores nothing and publishes nothing. It is used when
+ * <code>cache.l2.type</code> is <code>none</code>, reducing a TwoLevelCache to its node-local level.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class NoOpSharedCache implements SharedCache {
+
+    @Override
+    public ValueWrapper get(final String cacheName, final Object key) {
+        return null;
+    }
+
+    @Override
+    public void put(final String cacheName, final Object key, final Object value, final long ttlMillis) {
+        // nothing is shared
+    }
+
+    @Override
+    public void evict(final String cacheName, final Object key) {
+        // nothing is shared
+    }
+
+    @Override
+    public void clear(final String cacheName) {
+        // nothing is shared
+    }
+
+    @Override
+    public void publishInvalidation(final String cacheName, final Object key) {
+        // there are no other nodes
+    }
+
+    @Override
+    public void setInvalidationListener(final BiConsumer<String, Object> listener) {
+        // there are no other nodes
+    }
+
+}
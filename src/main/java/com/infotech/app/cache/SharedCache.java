@@ -0,0 +1,72 @@
+package com.infotech.app.cache;
+
+import java.util.function.BiConsumer;
+
+import org.springframework.cache.Cache.ValueWrapper;
+
+/**
+ * <p>
+ * The SharedCache is the second level of a TwoLevelCache: a store shared by every node of a deployment, together with
+ * a channel on which nodes announce that entries have changed so that the others drop their local copies.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe. Failures of the shared store should be logged and treated as misses rather than
+ * thrown, so that an unavailable L2 degrades to node-local caching.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public interface SharedCache {
+
+    /**
+     * Returns a shared entry.
+     *
+     * @param cacheName The name of the cache.
+     * @param key The key of the entry.
+     * @return A ValueWrapper holding the value, or <code>null</code> if there is no entry.
+     */
+    ValueWrapper get(String cacheName, Object key);
+
+    /**
+     * Stores a shared entry. Once its time to live has passed, the entry is treated as missing.
+     *
+     * @param cacheName The name of the cache.
+     * @param key The key of the entry.
+     * @param value The value of the entry.
+     * @param ttlMillis The time to live of the entry in milliseconds, or zero if it does not expire.
+     */
+    void put(String cacheName, Object key, Object value, long ttlMillis);
+
+    /**
+     * Removes a shared entry.
+     *
+     * @param cacheName The name of the cache.
+     * @param key The key of the entry.
+     */
+    void evict(String cacheName, Object key);
+
+    /**
+     * Removes every shared entry of a cache.
+     *
+     * @param cacheName The name of the cache.
+     */
+    void clear(String cacheName);
+
+    /**
+     * Announces to the other nodes that an entry, or every entry, of a cache has changed.
+     *
+     * @param cacheName The name of the cache.
+     * @param key The key of the changed entry, or <code>null</code> if every entry has changed.
+     */
+    void publishInvalidation(String cacheName, Object key);
+
+    /**
+     * Registers the listener invoked when another node publishes an invalidation.
+     *
+     * @param listener A BiConsumer accepting the cache name and the key, which is <code>null</code> if every entry of
+     *        the cache has changed. Both are <code>null</code> if invalidations may have been lost and every entry of
+     *        every cache must be treated as changed.
+     */
+    void setInvalidationListener(BiConsumer<String, Object> listener);
+
+}
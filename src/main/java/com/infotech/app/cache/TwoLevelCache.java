@@ -0,0 +1,318 @@
+package com.infotech.app.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * <p>
+ * The TwoLevelCache is a Spring Cache which reads from a node-local Caffeine L1 cache first and falls back to a
+ * SharedCache L2, copying shared hits into L1. Writes go to both levels. Shared entries are written with a time to
+ * live, normally the expiry of the L1 specification, so that L2 holds nothing L1 would already have expired.
+ * </p>
+ * <p>
+ * <code>put</code>, <code>evict</code> and <code>clear</code> change an entry other nodes may hold in their L1, so
+ * they also publish an invalidation through the SharedCache. <code>putIfAbsent</code> and loads through
+ * <code>get(key, valueLoader)</code> only fill a missing entry and publish nothing. Null values are kept in L1 only.
+ * </p>
+ * <p>
+ * Loads through <code>get(key, valueLoader)</code>, used by <code>@Cacheable(sync = true)</code>, are single-flight:
+ * concurrent misses for one key wait for a single load. A caller is counted as coalesced only if a load of its key
+ * was already in flight when it missed and it received that load's value rather than loading itself. When a refresh
+ * loader is supplied and the L1 specification sets <code>refreshAfterWrite</code>, an entry read after that interval
+ * is reloaded in the background while callers continue to receive the current value.
+ * </p>
+ * <p>
+ * When a negative cache builder is supplied, null values are not stored in L1. The keys of missing entries are kept
+ * in a separate, bounded negative cache, typically with a short expiry, so repeated lookups of missing keys neither
+ * reach the value loader nor displace entries from L1. Writing a value for a key, locally or on another node, removes
+ * it from the negative cache.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+
+    private final Cache<Object, Object> local;
+
+    private final Cache<Object, Boolean> negative;
+
+    private final SharedCache shared;
+
+    private final long sharedTtlMillis;
+
+    private final ConcurrentMap<Object, Boolean> loading = new ConcurrentHashMap<Object, Boolean>();
+
+    private final LongAdder negativeHits = new LongAdder();
+
+    private final LongAdder sharedHits = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    private final LongAdder refreshes = new LongAdder();
+
+    /**
+     * Construct a TwoLevelCache.
+     *
+     * @param name The name of the cache.
+     * @param builder The Caffeine builder of the L1 cache.
+     * @param negativeBuilder The Caffeine builder of the negative cache, or <code>null</code> to keep null values in
+     *        L1.
+     * @param refreshLoader The CacheLoader which reloads entries in the background, or <code>null</code> if the L1
+     *        specification does not set <code>refreshAfterWrite</code>.
+     * @param shared The SharedCache L2.
+     * @param sharedTtlMillis The time to live of shared entries in milliseconds, or zero if they do not expire.
+     */
+    public TwoLevelCache(final String name, final Caffeine<Object, Object> builder,
+            final Caffeine<Object, Object> negativeBuilder, final CacheLoader<Object, Object> refreshLoader,
+            final SharedCache shared, final long sharedTtlMillis) {
+        super(true);
+        this.name = name;
+        this.shared = shared;
+        this.sharedTtlMillis = sharedTtlMillis;
+        this.negative = negativeBuilder == null ? null : negativeBuilder.build();
+        if (refreshLoader == null) {
+            this.local = builder.build();
+        } else {
+            this.local = builder.build(key -> {
+                final Object value = refreshLoader.load(key);
+                refreshes.increment();
+                if (value != null) {
+                    shared.put(name, key, value, sharedTtlMillis);
+                }
+                return value == null ? null : toStoreValue(value);
+            });
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    /**
+     * Returns the negative cache.
+     *
+     * @return The Caffeine Cache of missing keys, or <code>null</code> if null values are kept in L1.
+     */
+    public Cache<Object, Boolean> getNegativeCache() {
+        return negative;
+    }
+
+    public long getNegativeHits() {
+        return negativeHits.sum();
+    }
+
+    public long getSharedHits() {
+        return sharedHits.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    @Override
+    protected Object lookup(final Object key) {
+        final Object localValue = local.getIfPresent(key);
+        if (localValue != null) {
+            return localValue;
+        }
+        if (isKnownMissing(key)) {
+            return toStoreValue(null);
+        }
+        return lookupShared(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final Object localValue = local.getIfPresent(key);
+        if (localValue != null) {
+            return (T) fromStoreValue(localValue);
+        }
+        if (isKnownMissing(key)) {
+            return null;
+        }
+
+        final boolean inFlight = loading.containsKey(key);
+        final boolean[] loadedHere = new boolean[1];
+        final Object value = local.get(key, k -> {
+            loadedHere[0] = true;
+            loading.put(k, Boolean.TRUE);
+            try {
+                return load(k, valueLoader);
+            } finally {
+                loading.remove(k);
+            }
+        });
+        if (inFlight && !loadedHere[0]) {
+            coalescedLoads.increment();
+        }
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        if (value == null && negative != null) {
+            local.invalidate(key);
+            negative.put(key, Boolean.TRUE);
+        } else {
+            forgetMissing(key);
+            local.put(key, toStoreValue(value));
+        }
+        if (value != null) {
+            shared.put(name, key, value, sharedTtlMillis);
+        }
+        shared.publishInvalidation(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final Object existing = local.getIfPresent(key);
+        if (existing != null) {
+            return toValueWrapper(existing);
+        }
+        final Object sharedValue = lookupShared(key);
+        if (sharedValue != null) {
+            return toValueWrapper(sharedValue);
+        }
+        if (value == null && negative != null) {
+            negative.put(key, Boolean.TRUE);
+            return null;
+        }
+        forgetMissing(key);
+        final Object previous = local.asMap().putIfAbsent(key, toStoreValue(value));
+        if (previous != null) {
+            return toValueWrapper(previous);
+        }
+        if (value != null) {
+            shared.put(name, key, value, sharedTtlMillis);
+        }
+        return null;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        local.invalidate(key);
+        forgetMissing(key);
+        shared.evict(name, key);
+        shared.publishInvalidation(name, key);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        forgetMissing(null);
+        shared.clear(name);
+        shared.publishInvalidation(name, null);
+    }
+
+    /**
+     * Drops an entry, or every entry, from L1 only, after another node published an invalidation.
+     *
+     * @param key The key of the changed entry, or <code>null</code> if every entry has changed.
+     */
+    public void invalidateLocal(final Object key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+        forgetMissing(key);
+    }
+
+    /**
+     * Returns whether a key is in the negative cache, counting a negative hit if it is.
+     *
+     * @param key A key.
+     * @return <code>true</code> if the key is known to have no value.
+     */
+    private boolean isKnownMissing(final Object key) {
+        if (negative == null || negative.getIfPresent(key) == null) {
+            return false;
+        }
+        negativeHits.increment();
+        return true;
+    }
+
+    /**
+     * Removes a key, or every key, from the negative cache.
+     *
+     * @param key A key, or <code>null</code> for every key.
+     */
+    private void forgetMissing(final Object key) {
+        if (negative == null) {
+            return;
+        }
+        if (key == null) {
+            negative.invalidateAll();
+        } else {
+            negative.invalidate(key);
+        }
+    }
+
+    /**
+     * Loads a missing L1 entry from the SharedCache or, failing that, from the value loader.
+     *
+     * @param key The key of the missing entry.
+     * @param valueLoader The Callable which loads the value.
+     * @return The store value, or <code>null</code> if a missing value is kept in the negative cache.
+     */
+    private Object load(final Object key, final Callable<?> valueLoader) {
+        final ValueWrapper sharedValue = shared.get(name, key);
+        if (sharedValue != null) {
+            sharedHits.increment();
+            return toStoreValue(sharedValue.get());
+        }
+        loads.increment();
+        final Object loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (loaded != null) {
+            shared.put(name, key, loaded, sharedTtlMillis);
+        } else if (negative != null) {
+            negative.put(key, Boolean.TRUE);
+            return null;
+        }
+        return toStoreValue(loaded);
+    }
+
+    private Object lookupShared(final Object key) {
+        final ValueWrapper sharedValue = shared.get(name, key);
+        if (sharedValue == null) {
+            return null;
+        }
+        sharedHits.increment();
+        final Object storeValue = toStoreValue(sharedValue.get());
+        local.put(key, storeValue);
+        return storeValue;
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.infotech.app.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * The TwoLevelCacheManager is a Spring CacheManager for a fixed set of TwoLevelCaches. Each has a Caffeine L1 built
+ * from its own specification and all share one SharedCache L2. Invalidations published by other nodes are applied to
+ * the L1 of the named cache, or of every cache if the SharedCache reports that invalidations were lost. Shared entries
+ * expire after the <code>expireAfterWrite</code> duration of the L1 specification or, if it has none, its
+ * <code>expireAfterAccess</code> duration.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<String, TwoLevelCache>();
+
+    private final SharedCache shared;
+
+    private final Ticker ticker;
+
+    private final Executor executor;
+
+    /**
+     * Construct a TwoLevelCacheManager with no caches.
+     *
+     * @param shared The SharedCache L2.
+     */
+    public TwoLevelCacheManager(final SharedCache shared) {
+        this(shared, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a TwoLevelCacheManager with no caches whose L1 and negative caches read the time from a Ticker and run
+     * background refreshes and maintenance on an Executor.
+     *
+     * @param shared The SharedCache L2.
+     * @param ticker The Ticker used for expiry and refresh.
+     * @param executor The Executor which runs refreshes and maintenance.
+     */
+    public TwoLevelCacheManager(final SharedCache shared, final Ticker ticker, final Executor executor) {
+        this.shared = shared;
+        this.ticker = ticker;
+        this.executor = executor;
+        shared.setInvalidationListener((cacheName, key) -> {
+            if (cacheName == null) {
+                caches.values().forEach(cache -> cache.invalidateLocal(null));
+                return;
+            }
+            final TwoLevelCache cache = caches.get(cacheName);
+            if (cache != null) {
+                cache.invalidateLocal(key);
+            }
+        });
+    }
+
+    /**
+     * Add a cache whose entries are not refreshed and which keeps null values in L1.
+     *
+     * @param name The name of the cache.
+     * @param spec The Caffeine specification of the L1 cache.
+     */
+    public void addCache(final String name, final String spec) {
+        addCache(name, spec, null, null);
+    }
+
+    /**
+     * Add a cache which keeps the keys of missing entries in a negative cache, if a specification is supplied for
+     * it, and whose entries are reloaded in the background when the L1 specification sets
+     * <code>refreshAfterWrite</code>.
+     *
+     * @param name The name of the cache.
+     * @param spec The Caffeine specification of the L1 cache.
+     * @param negativeSpec The Caffeine specification of the negative cache, or <code>null</code>.
+     * @param refreshLoader The CacheLoader which reloads entries, or <code>null</code>.
+     */
+    public void addCache(final String name, final String spec, final String negativeSpec,
+            final CacheLoader<Object, Object> refreshLoader) {
+        final Caffeine<Object, Object> negativeBuilder =
+                negativeSpec == null ? null : Caffeine.from(negativeSpec).ticker(ticker).executor(executor);
+        caches.put(name, new TwoLevelCache(name, Caffeine.from(spec).ticker(ticker).executor(executor),
+                negativeBuilder, refreshLoader, shared, expiryMillis(spec)));
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Returns the expiry of a Caffeine specification: its <code>expireAfterWrite</code> duration or, if it has none,
+     * its <code>expireAfterAccess</code> duration. Caffeine exposes no accessors for a parsed specification, so the
+     * durations are read from the specification string, which Caffeine has already validated.
+     *
+     * @param spec A Caffeine specification.
+     * @return The expiry in milliseconds, or zero if the specification sets neither duration.
+     */
+    static long expiryMillis(final String spec) {
+        long afterAccess = 0L;
+        for (final String option : spec.split(",")) {
+            final String[] keyAndValue = option.trim().split("=", 2);
+            if (keyAndValue.length < 2) {
+                continue;
+            }
+            if ("expireAfterWrite".equals(keyAndValue[0].trim())) {
+                return durationMillis(keyAndValue[1].trim());
+            }
+            if ("expireAfterAccess".equals(keyAndValue[0].trim())) {
+                afterAccess = durationMillis(keyAndValue[1].trim());
+            }
+        }
+        return afterAccess;
+    }
+
+    /**
+     * Returns a Caffeine specification duration, such as <code>600s</code>, in milliseconds.
+     *
+     * @param duration A number followed by one of the units <code>d</code>, <code>h</code>, <code>m</code> or
+     *        <code>s</code>.
+     * @return The duration in milliseconds.
+     */
+    private static long durationMillis(final String duration) {
+        final long amount = Long.parseLong(duration.substring(0, duration.length() - 1));
+        switch (duration.toLowerCase(Locale.US).charAt(duration.length() - 1)) {
+            case 'd':
+                return TimeUnit.DAYS.toMillis(amount);
+            case 'h':
+                return TimeUnit.HOURS.toMillis(amount);
+            case 'm':
+                return TimeUnit.MINUTES.toMillis(amount);
+            case 's':
+                return TimeUnit.SECONDS.toMillis(amount);
+            default:
+                throw new IllegalArgumentException("Unknown duration unit in cache specification: " + duration);
+        }
+    }
+
+}
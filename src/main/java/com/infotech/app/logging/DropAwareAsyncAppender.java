@@ -0,0 +1,164 @@
+package com.infotech.app.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * <p>
+ * The DropAwareAsyncAppender is a Logback AsyncAppender which never blocks the logging thread and counts the events it
+ * drops. Events are placed on a bounded queue and handed to the attached appender by a single worker thread.
+ * </p>
+ * <p>
+ * When fewer than <code>discardingThreshold</code> slots remain, TRACE, DEBUG and INFO events are discarded so that
+ * WARN and ERROR events keep their place. When the queue is full, every event is dropped. Both outcomes are counted
+ * and may be read, together with the current queue depth, by monitoring components.
+ * </p>
+ * <p>
+ * Many threads log concurrently, so whether the queue had room is only known to the failed offer inside Logback.
+ * Overflowed events are therefore not counted where they occur but derived from the events received, discarded,
+ * handed to the attached appender and still queued. The count is exact whenever no event is in transit and otherwise
+ * off by at most the events in transit.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class DropAwareAsyncAppender extends AsyncAppender {
+
+    private final LongAdder appended = new LongAdder();
+
+    private final LongAdder discarded = new LongAdder();
+
+    private final LongAdder delivered = new LongAdder();
+
+    /**
+     * Construct a DropAwareAsyncAppender. The appender never blocks; this may not be changed by configuration.
+     */
+    public DropAwareAsyncAppender() {
+        super();
+        super.setNeverBlock(true);
+    }
+
+    @Override
+    public void setNeverBlock(final boolean neverBlock) {
+        if (!neverBlock) {
+            addWarn("The DropAwareAsyncAppender never blocks; ignoring neverBlock=false.");
+        }
+    }
+
+    /**
+     * Attach the appender to which queued events are handed, wrapped so that each event handed to it is counted as
+     * delivered.
+     * 
+     * @param newAppender An Appender.
+     */
+    @Override
+    public void addAppender(final Appender<ILoggingEvent> newAppender) {
+        final DeliveryCountingAppender countingAppender = new DeliveryCountingAppender(newAppender, delivered);
+        countingAppender.setContext(getContext());
+        countingAppender.start();
+        super.addAppender(countingAppender);
+    }
+
+    @Override
+    protected void append(final ILoggingEvent eventObject) {
+        appended.increment();
+        super.append(eventObject);
+    }
+
+    @Override
+    protected boolean isDiscardable(final ILoggingEvent eventObject) {
+        // Only consulted once the queue has fewer than discardingThreshold slots remaining
+        final boolean discardable = super.isDiscardable(eventObject);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    /**
+     * Returns the number of events received by this appender.
+     * 
+     * @return A long.
+     */
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    /**
+     * Returns the number of TRACE, DEBUG and INFO events discarded because the queue was nearly full.
+     * 
+     * @return A long.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Returns the number of events handed to the attached appender.
+     * 
+     * @return A long.
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the number of events of any level dropped because the queue was full: those received which were neither
+     * discarded, delivered nor are still queued.
+     * 
+     * @return A long.
+     */
+    public long getOverflowCount() {
+        // Read in the order an event passes through, so one moving on between reads is counted twice rather than lost
+        final long appendedCount = getAppendedCount();
+        final long discardedCount = getDiscardedCount();
+        final long queued = getNumberOfElementsInQueue();
+        final long deliveredCount = getDeliveredCount();
+        return Math.max(0L, appendedCount - discardedCount - deliveredCount - queued);
+    }
+
+    /**
+     * Returns the total number of events dropped.
+     * 
+     * @return A long.
+     */
+    public long getDroppedCount() {
+        return getDiscardedCount() + getOverflowCount();
+    }
+
+    /**
+     * An appender which counts each event before handing it to the appender it wraps. It takes the name of the wrapped
+     * appender, and stopping it stops the wrapped appender.
+     */
+    private static class DeliveryCountingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final Appender<ILoggingEvent> delegate;
+
+        private final LongAdder delivered;
+
+        DeliveryCountingAppender(final Appender<ILoggingEvent> delegate, final LongAdder delivered) {
+            super();
+            this.delegate = delegate;
+            this.delivered = delivered;
+            setName(delegate.getName());
+        }
+
+        @Override
+        protected void append(final ILoggingEvent eventObject) {
+            delivered.increment();
+            delegate.doAppend(eventObject);
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            delegate.stop();
+        }
+
+    }
+
+}
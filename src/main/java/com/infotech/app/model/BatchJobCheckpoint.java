@@ -0,0 +1,89 @@
+package com.infotech.app.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+
+import org.joda.time.DateTime;
+
+/**
+ * The BatchJobCheckpoint class is an entity model object. A BatchJobCheckpoint records the high-water mark of an
+ * incremental batch job: the modification timestamp and id of the last entity the job processed. The next run of the
+ * job resumes after the mark.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Entity
+public class BatchJobCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The name of the batch job, which is also the primary key identifier.
+     */
+    @Id
+    private String jobName;
+
+    /**
+     * The modification timestamp of the last entity processed.
+     */
+    @NotNull
+    private DateTime markAt;
+
+    /**
+     * The primary key identifier of the last entity processed. Orders entities sharing the same timestamp.
+     */
+    @NotNull
+    private Long markId;
+
+    /**
+     * The timestamp when the job last advanced the mark.
+     */
+    private DateTime updatedAt;
+
+    public BatchJobCheckpoint() {
+        super();
+    }
+
+    public BatchJobCheckpoint(final String jobName) {
+        super();
+        this.jobName = jobName;
+        this.markAt = new DateTime(0L);
+        this.markId = Long.valueOf(0);
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(final String jobName) {
+        this.jobName = jobName;
+    }
+
+    public DateTime getMarkAt() {
+        return markAt;
+    }
+
+    public void setMarkAt(final DateTime markAt) {
+        this.markAt = markAt;
+    }
+
+    public Long getMarkId() {
+        return markId;
+    }
+
+    public void setMarkId(final Long markId) {
+        this.markId = markId;
+    }
+
+    public DateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(final DateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+}
@@ -1,9 +1,9 @@
 package com.infotech.app.model;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
 import javax.persistence.PrePersist;
@@ -11,7 +11,10 @@ import javax.persistence.PreUpdate;
 import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 
+import com.infotech.app.util.ReferenceIds;
 import com.infotech.app.util.RequestContext;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.joda.time.DateTime;
 
 /**
@@ -28,17 +31,35 @@ public class TransactionalEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The primary key identifier.
+     * The primary key identifier. Identifiers are allocated from the IdSequence table in blocks of 50 per entity table
+     * using the pooled optimizer, so inserts need not return generated keys and may be batched by the JDBC driver.
      */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.TABLE,
+            generator = "pooledTableGenerator")
+    @GenericGenerator(name = "pooledTableGenerator",
+            strategy = "org.hibernate.id.enhanced.TableGenerator",
+            parameters = { @Parameter(name = "table_name",
+                    value = "IdSequence"),
+                    @Parameter(name = "segment_column_name",
+                            value = "sequenceName"),
+                    @Parameter(name = "value_column_name",
+                            value = "nextValue"),
+                    @Parameter(name = "prefer_entity_table_as_segment_value",
+                            value = "true"),
+                    @Parameter(name = "increment_size",
+                            value = "50"),
+                    @Parameter(name = "optimizer",
+                            value = "pooled") })
     private Long id;
 
     /**
-     * A secondary unique identifier which may be used as a reference to this entity by external systems.
+     * A secondary unique identifier which may be used as a reference to this entity by external systems. Assigned when
+     * the entity is first persisted rather than when it is instantiated, since instances hydrated by Hibernate or
+     * deserialized from a request body would discard it.
      */
     @NotNull
-    private String referenceId = UUID.randomUUID().toString();
+    private String referenceId;
 
     /**
      * The entity instance version used for optimistic locking.
@@ -68,6 +89,14 @@ public class TransactionalEntity implements Serializable {
      */
     private DateTime updatedAt;
 
+    /**
+     * The timestamp when this entity instance was created or most recently updated. Unlike <code>updatedAt</code> it
+     * is never null, so entities may be paged in modification order using the index on <code>modifiedAt</code> and
+     * <code>id</code>.
+     */
+    @NotNull
+    private DateTime modifiedAt;
+
     public Long getId() {
         return id;
     }
@@ -124,11 +153,20 @@ public class TransactionalEntity implements Serializable {
         this.updatedAt = updatedAt;
     }
 
+    public DateTime getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(final DateTime modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+
     /**
      * A listener method which is invoked on instances of TransactionalEntity (or their subclasses) prior to initial
      * persistence. Sets the <code>created</code> audit values for the entity. Attempts to obtain this thread's instance
      * of a username from the RequestContext. If none exists, throws an IllegalArgumentException. The username is used
-     * to set the <code>createdBy</code> value. The <code>createdAt</code> value is set to the current timestamp.
+     * to set the <code>createdBy</code> value. The <code>createdAt</code> and <code>modifiedAt</code> values are set to
+     * the current timestamp. A <code>referenceId</code> is generated by ReferenceIds unless one was supplied.
      */
     @PrePersist
     public void beforePersist() {
@@ -139,14 +177,21 @@ public class TransactionalEntity implements Serializable {
         }
         setCreatedBy(username);
 
-        setCreatedAt(new DateTime());
+        final DateTime now = new DateTime();
+        setCreatedAt(now);
+        setModifiedAt(now);
+
+        if (getReferenceId() == null) {
+            setReferenceId(ReferenceIds.next());
+        }
     }
 
     /**
      * A listener method which is invoked on instances of TransactionalEntity (or their subclasses) prior to being
      * updated. Sets the <code>updated</code> audit values for the entity. Attempts to obtain this thread's instance of
      * username from the RequestContext. If none exists, throws an IllegalArgumentException. The username is used to set
-     * the <code>updatedBy</code> value. The <code>updatedAt</code> value is set to the current timestamp.
+     * the <code>updatedBy</code> value. The <code>updatedAt</code> and <code>modifiedAt</code> values are set to the
+     * current timestamp.
      */
     @PreUpdate
     public void beforeUpdate() {
@@ -157,7 +202,9 @@ public class TransactionalEntity implements Serializable {
         }
         setUpdatedBy(username);
 
-        setUpdatedAt(new DateTime());
+        final DateTime now = new DateTime();
+        setUpdatedAt(now);
+        setModifiedAt(now);
     }
 
     /**
@@ -0,0 +1,16 @@
+package com.infotech.app.repository;
+
+import com.infotech.app.model.BatchJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The BatchJobCheckpointRepository interface is a Spring Data JPA data
+ * repository for BatchJobCheckpoint entities, keyed by job name.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Repository
+public interface BatchJobCheckpointRepository extends JpaRepository<BatchJobCheckpoint, String> {
+
+}
@@ -1,9 +1,22 @@
 package com.infotech.app.repository;
 
-import com.infotech.app.model.Greeting;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.joda.time.DateTime;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.infotech.app.model.Greeting;
+
 /**
  * The GreetingRepository interface is a Spring Data JPA data repository for
  * Greeting entities. The GreetingRepository provides all the data access
@@ -15,4 +28,144 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface GreetingRepository extends JpaRepository<Greeting, Long> {
 
+    /**
+     * Query for the Greeting entities whose id is greater than the supplied id, ordered by id. Used for keyset
+     * pagination; the size of the Pageable limits the number of results and its page number should be zero.
+     * 
+     * @param id The id after which results begin.
+     * @param pageable A Pageable limiting the number of results.
+     * @return A List of Greeting entities.
+     */
+    List<Greeting> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Query for the Greeting entity with the supplied reference identifier, which is unique.
+     * 
+     * @param referenceId The reference identifier.
+     * @return A Greeting entity or <code>null</code> if none found.
+     */
+    Greeting findByReferenceId(String referenceId);
+
+    /**
+     * Query for all Greeting entities, ordered by id, as a Stream. Rows are fetched from the database 500 at a time
+     * as the Stream is consumed, provided the JDBC driver honours the fetch size; MySQL Connector/J does so only with
+     * <code>useCursorFetch=true</code> on the connection URL, as set by the <code>mysql</code> profile. The Stream must
+     * be consumed and closed within a transaction.
+     * 
+     * @return A Stream of Greeting entities.
+     */
+    @QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("select g from Greeting g order by g.id")
+    Stream<Greeting> streamAll();
+
+    /**
+     * Query for the ids among those supplied which identify existing Greeting entities.
+     * 
+     * @param ids A Collection of Greeting ids.
+     * @return A List of the ids of existing Greeting entities.
+     */
+    @Query("select g.id from Greeting g where g.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete the Greeting entities with the supplied ids in a single statement without loading them.
+     * 
+     * @param ids A Collection of Greeting ids.
+     * @return The number of Greeting entities deleted.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Greeting g where g.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Query for the highest Greeting id. The query is answered from the primary key index without reading rows.
+     * 
+     * @return The highest Greeting id or <code>null</code> if there are no Greeting entities.
+     */
+    @Query("select max(g.id) from Greeting g")
+    Long findMaxId();
+
+    /**
+     * Query for a page of Greeting entities modified after the supplied mark, ordered by <code>modifiedAt</code> and
+     * id. A Greeting is after the mark if it was modified later than <code>since</code>, or at <code>since</code> with
+     * an id greater than <code>afterId</code>. The predicate and ordering are answered by a range scan of the index on
+     * <code>modifiedAt</code> and <code>id</code>.
+     * 
+     * @param since The modification timestamp of the mark.
+     * @param afterId The Greeting id of the mark.
+     * @param pageable The page size; the page number should always be zero.
+     * @return A List of Greeting objects.
+     */
+    @Query("select g from Greeting g "
+            + "where g.modifiedAt > :since or (g.modifiedAt = :since and g.id > :afterId) "
+            + "order by g.modifiedAt, g.id")
+    List<Greeting> findChangedSince(@Param("since") DateTime since, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Query for the ids of the most recently modified Greeting entities, newest first, by a backward scan of the index
+     * on <code>modifiedAt</code> and <code>id</code>.
+     * 
+     * @param pageable The number of ids; the page number should always be zero.
+     * @return A List of Greeting ids.
+     */
+    @Query("select g.id from Greeting g order by g.modifiedAt desc, g.id desc")
+    List<Long> findRecentlyModifiedIds(Pageable pageable);
+
+    /**
+     * Update the text of a Greeting entity in a single statement without loading it, incrementing its version and
+     * setting its audit values. The statement bypasses the entity listeners, so it sets <code>modifiedAt</code> to the
+     * update timestamp itself.
+     * 
+     * @param id The Greeting id.
+     * @param text The new text.
+     * @param updatedBy The username of the updater.
+     * @param updatedAt The update timestamp.
+     * @return The number of Greeting entities updated, zero if the id does not exist.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Greeting g set g.text = :text, g.version = g.version + 1, g.updatedBy = :updatedBy, "
+            + "g.updatedAt = :updatedAt, g.modifiedAt = :updatedAt where g.id = :id")
+    int updateText(@Param("id") Long id, @Param("text") String text, @Param("updatedBy") String updatedBy,
+            @Param("updatedAt") DateTime updatedAt);
+
+    /**
+     * Update the text of a Greeting entity in a single statement, as <code>updateText</code>, only if it is at the
+     * expected version.
+     * 
+     * @param id The Greeting id.
+     * @param version The expected version.
+     * @param text The new text.
+     * @param updatedBy The username of the updater.
+     * @param updatedAt The update timestamp.
+     * @return The number of Greeting entities updated, zero if the id does not exist or is at another version.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Greeting g set g.text = :text, g.version = g.version + 1, g.updatedBy = :updatedBy, "
+            + "g.updatedAt = :updatedAt, g.modifiedAt = :updatedAt where g.id = :id and g.version = :version")
+    int updateTextIfVersion(@Param("id") Long id, @Param("version") Integer version, @Param("text") String text,
+            @Param("updatedBy") String updatedBy, @Param("updatedAt") DateTime updatedAt);
+
+    /**
+     * Delete a Greeting entity in a single statement without loading it.
+     * 
+     * @param id The Greeting id.
+     * @return The number of Greeting entities deleted, zero if the id does not exist.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Greeting g where g.id = :id")
+    int deleteOne(@Param("id") Long id);
+
+    /**
+     * Delete a Greeting entity in a single statement without loading it, only if it is at the expected version.
+     * 
+     * @param id The Greeting id.
+     * @param version The expected version.
+     * @return The number of Greeting entities deleted, zero if the id does not exist or is at another version.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Greeting g where g.id = :id and g.version = :version")
+    int deleteOneIfVersion(@Param("id") Long id, @Param("version") Integer version);
+
 }
@@ -1,13 +1,14 @@
 package com.infotech.app.security;
 
 import com.infotech.app.util.RequestContext;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.infotech.app.util.Span;
+import com.infotech.app.util.Trace;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.AbstractUserDetailsAuthenticationProvider;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -15,10 +16,14 @@ import org.springframework.stereotype.Component;
 /**
  * <p>
  * A Spring Security AuthenticationProvider which extends <code>AbstractUserDetailsAuthenticationProvider</code>. This
- * class uses the <code>AccountUserDetailsService</code> to retrieve a UserDetails instance.
+ * class uses the <code>AccountUserDetailsService</code> to retrieve a UserDetails instance. Retrieved UserDetails are
+ * held in the <code>AccountUserCache</code>.
  * </p>
  * <p>
- * A PasswordEncoder compares the supplied authentication credentials to those in the UserDetails.
+ * A PasswordEncoder compares the supplied authentication credentials to those in the UserDetails. Successful
+ * comparisons are remembered by the <code>AuthenticationCache</code> so that subsequent stateless requests presenting
+ * the same credentials do not repeat the expensive hash operation. The enabled, locked, and expired checks are always
+ * applied to the current UserDetails before the cache is consulted.
  * </p>
  * 
  * @author MohammadReza Alagheband
@@ -26,11 +31,6 @@ import org.springframework.stereotype.Component;
 @Component
 public class AccountAuthenticationProvider extends AbstractUserDetailsAuthenticationProvider {
 
-    /**
-     * The Logger for this Class.
-     */
-    private static final Logger logger = LoggerFactory.getLogger(AccountAuthenticationProvider.class);
-
     /**
      * A Spring Security UserDetailsService implementation based upon the Account entity model.
      */
@@ -43,35 +43,58 @@ public class AccountAuthenticationProvider extends AbstractUserDetailsAuthentica
     @Autowired
     private transient PasswordEncoder passwordEncoder;
 
+    /**
+     * A cache of recently verified credentials.
+     */
+    @Autowired
+    private transient AuthenticationCache authenticationCache;
+
+    /**
+     * Sets the UserCache consulted before the AccountUserDetailsService is used to load an Account.
+     * 
+     * @param userCache A UserCache.
+     */
+    @Autowired
+    @Override
+    public void setUserCache(final UserCache userCache) {
+        super.setUserCache(userCache);
+    }
+
     @Override
     protected void additionalAuthenticationChecks(final UserDetails userDetails,
             final UsernamePasswordAuthenticationToken token) throws AuthenticationException {
-        logger.info("> additionalAuthenticationChecks");
+        final Span span = Trace.start("AccountAuthenticationProvider.additionalAuthenticationChecks");
+        try {
+            if (token.getCredentials() == null || userDetails.getPassword() == null) {
+                throw new BadCredentialsException("Credentials may not be null.");
+            }
 
-        if (token.getCredentials() == null || userDetails.getPassword() == null) {
-            logger.info("< additionalAuthenticationChecks");
-            throw new BadCredentialsException("Credentials may not be null.");
-        }
+            final String presentedPassword = (String) token.getCredentials();
+            if (!authenticationCache.isVerified(userDetails.getUsername(), presentedPassword,
+                    userDetails.getPassword())) {
+                if (!passwordEncoder.matches(presentedPassword, userDetails.getPassword())) {
+                    throw new BadCredentialsException("Invalid credentials.");
+                }
+                authenticationCache.verified(userDetails.getUsername(), presentedPassword, userDetails.getPassword());
+            }
 
-        if (!passwordEncoder.matches((String) token.getCredentials(), userDetails.getPassword())) {
-            logger.info("< additionalAuthenticationChecks");
-            throw new BadCredentialsException("Invalid credentials.");
+            RequestContext.setUsername(userDetails.getUsername());
+        } finally {
+            span.end();
         }
-
-        RequestContext.setUsername(userDetails.getUsername());
-
-        logger.info("< additionalAuthenticationChecks");
     }
 
     @Override
     protected UserDetails retrieveUser(final String username, final UsernamePasswordAuthenticationToken token)
             throws AuthenticationException {
-        logger.info("> retrieveUser");
+        final Span span = Trace.start("AccountAuthenticationProvider.retrieveUser");
+        try {
+            final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-        logger.info("< retrieveUser");
-        return userDetails;
+            return userDetails;
+        } finally {
+            span.end();
+        }
     }
 
 }
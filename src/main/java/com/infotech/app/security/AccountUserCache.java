@@ -0,0 +1,121 @@
+package com.infotech.app.security;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.infotech.app.service.AccountChangedEvent;
+
+/**
+ * <p>
+ * A Spring Security UserCache implementation backed by Caffeine. The AccountAuthenticationProvider consults this cache
+ * before loading UserDetails through the AccountUserDetailsService, avoiding a database query for the Account and its
+ * Roles on every authenticated request.
+ * </p>
+ * <p>
+ * The size and expiration of the cache are configured with the <code>cache.accounts.spec</code> property. Entries are
+ * evicted when an AccountChangedEvent is published. Nothing publishes one yet, because Accounts are changed only
+ * outside the application, so the expiry is the only bound on how long a changed Account is served from the cache.
+ * </p>
+ * <p>
+ * The cache holds its own copy of each UserDetails and hands out a further copy on every hit. The UserDetails returned
+ * become the principal of the Authentication, whose credentials the AuthenticationManager erases once authentication
+ * completes; copying keeps that erasure from reaching the cached entry.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class AccountUserCache implements UserCache {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AccountUserCache.class);
+
+    /**
+     * The Caffeine specification for the cache, e.g. <code>maximumSize=1000,expireAfterWrite=300s</code>.
+     */
+    @Value("${cache.accounts.spec}")
+    private transient String spec;
+
+    /**
+     * The UserDetails keyed by username.
+     */
+    private transient Cache<String, UserDetails> cache;
+
+    /**
+     * Initialize the underlying cache.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.from(spec).recordStats().build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(final String username) {
+        final UserDetails user = cache.getIfPresent(username);
+        return user == null ? null : copyOf(user);
+    }
+
+    @Override
+    public void putUserInCache(final UserDetails user) {
+        cache.put(user.getUsername(), copyOf(user));
+    }
+
+    @Override
+    public void removeUserFromCache(final String username) {
+        logger.debug("Evicting UserDetails for username {}", username);
+        cache.invalidate(username);
+    }
+
+    /**
+     * Evicts the UserDetails of an Account when it is modified. Runs after the modifying transaction commits.
+     * 
+     * @param event An AccountChangedEvent.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(final AccountChangedEvent event) {
+        removeUserFromCache(event.getUsername());
+    }
+
+    /**
+     * Returns the hit, miss, and eviction statistics of the cache.
+     * 
+     * @return A CacheStats snapshot.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the approximate number of entries in the cache.
+     * 
+     * @return A long.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Returns a copy of a UserDetails, so that erasing the credentials of one does not affect the other.
+     * 
+     * @param user A UserDetails.
+     * @return A new User with the same values.
+     */
+    private static UserDetails copyOf(final UserDetails user) {
+        return new User(user.getUsername(), user.getPassword(), user.isEnabled(), user.isAccountNonExpired(),
+                user.isCredentialsNonExpired(), user.isAccountNonLocked(), user.getAuthorities());
+    }
+
+}
@@ -7,8 +7,8 @@ import java.util.Set;
 import com.infotech.app.model.Account;
 import com.infotech.app.model.Role;
 import com.infotech.app.service.AccountService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.infotech.app.util.Span;
+import com.infotech.app.util.Trace;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -27,11 +27,6 @@ import org.springframework.stereotype.Service;
 @Service
 public class AccountUserDetailsService implements UserDetailsService {
 
-    /**
-     * The Logger for this Class.
-     */
-    private static final Logger logger = LoggerFactory.getLogger(AccountUserDetailsService.class);
-
     /**
      * The AccountService business service.
      */
@@ -40,30 +35,32 @@ public class AccountUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
-        logger.info("> loadUserByUsername {}", username);
-
-        final Account account = accountService.findByUsername(username);
-        if (account == null) {
-            // Not found...
-            throw new UsernameNotFoundException("Invalid credentials.");
-        }
+        final Span span = Trace.start("AccountUserDetailsService.loadUserByUsername");
+        try {
+            final Account account = accountService.findByUsername(username);
+            if (account == null) {
+                // Not found...
+                throw new UsernameNotFoundException("Invalid credentials.");
+            }
 
-        final Set<Role> roles = account.getRoles();
-        if (roles == null || roles.isEmpty()) {
-            // No Roles assigned to Account...
-            throw new UsernameNotFoundException("Invalid credentials.");
-        }
+            final Set<Role> roles = account.getRoles();
+            if (roles == null || roles.isEmpty()) {
+                // No Roles assigned to Account...
+                throw new UsernameNotFoundException("Invalid credentials.");
+            }
 
-        final Collection<GrantedAuthority> grantedAuthorities = new ArrayList<GrantedAuthority>();
-        for (final Role role : roles) {
-            grantedAuthorities.add(new SimpleGrantedAuthority(role.getCode()));
-        }
+            final Collection<GrantedAuthority> grantedAuthorities = new ArrayList<GrantedAuthority>();
+            for (final Role role : roles) {
+                grantedAuthorities.add(new SimpleGrantedAuthority(role.getCode()));
+            }
 
-        final User userDetails = new User(account.getUsername(), account.getPassword(), account.isEnabled(),
-                !account.isExpired(), !account.isCredentialsexpired(), !account.isLocked(), grantedAuthorities);
+            final User userDetails = new User(account.getUsername(), account.getPassword(), account.isEnabled(),
+                    !account.isExpired(), !account.isCredentialsexpired(), !account.isLocked(), grantedAuthorities);
 
-        logger.info("< loadUserByUsername {}", username);
-        return userDetails;
+            return userDetails;
+        } finally {
+            span.end();
+        }
     }
 
 }
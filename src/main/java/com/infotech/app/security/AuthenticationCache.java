@@ -0,0 +1,165 @@
+package com.infotech.app.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.infotech.app.service.AccountChangedEvent;
+
+/**
+ * <p>
+ * The AuthenticationCache remembers credentials which were recently verified by the PasswordEncoder, allowing
+ * repeated stateless requests to skip the expensive BCrypt comparison.
+ * </p>
+ * <p>
+ * Entries are keyed by an HMAC of the username and the presented secret, using a random key generated at startup, so
+ * clear text credentials are never retained. Each entry also records the encoded password it was verified against; a
+ * cached entry only matches while the Account still holds that password. Entries are discarded when an
+ * AccountChangedEvent is published and expire according to the <code>cache.authentication.spec</code> property.
+ * Nothing publishes the event yet, because Accounts are changed only outside the application. The encoded password
+ * is read from the AccountUserCache, so a changed password or a locked Account is noticed only once its entries in
+ * both caches expire.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class AuthenticationCache {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationCache.class);
+
+    /**
+     * The size in bytes of the randomly generated HMAC key.
+     */
+    private static final int KEY_SIZE = 32;
+
+    /**
+     * The Caffeine specification for the cache, e.g. <code>maximumSize=10000,expireAfterWrite=300s</code>.
+     */
+    @Value("${cache.authentication.spec}")
+    private transient String spec;
+
+    /**
+     * The keyed hash function used to derive cache keys from credentials.
+     */
+    private transient HashFunction hashFunction;
+
+    /**
+     * The verified credentials keyed by credential hash.
+     */
+    private transient Cache<String, VerifiedCredential> cache;
+
+    /**
+     * Initialize the HMAC key and the underlying cache.
+     */
+    @PostConstruct
+    public void init() {
+        final byte[] key = new byte[KEY_SIZE];
+        new SecureRandom().nextBytes(key);
+        hashFunction = Hashing.hmacSha256(key);
+        cache = Caffeine.from(spec).recordStats().build();
+    }
+
+    /**
+     * Determines if the supplied credentials were previously verified against the encoded password.
+     * 
+     * @param username A String username.
+     * @param presentedPassword The clear text password presented by the client.
+     * @param encodedPassword The encoded password currently held by the Account.
+     * @return A boolean whose value is <code>true</code> if the credentials were verified previously.
+     */
+    public boolean isVerified(final String username, final String presentedPassword, final String encodedPassword) {
+        final VerifiedCredential credential = cache.getIfPresent(key(username, presentedPassword));
+        return credential != null && credential.matches(username, encodedPassword);
+    }
+
+    /**
+     * Records that the supplied credentials were successfully verified against the encoded password.
+     * 
+     * @param username A String username.
+     * @param presentedPassword The clear text password presented by the client.
+     * @param encodedPassword The encoded password currently held by the Account.
+     */
+    public void verified(final String username, final String presentedPassword, final String encodedPassword) {
+        cache.put(key(username, presentedPassword), new VerifiedCredential(username, encodedPassword));
+    }
+
+    /**
+     * Discards all cached credentials for the username.
+     * 
+     * @param username A String username.
+     */
+    public void evict(final String username) {
+        logger.debug("Evicting verified credentials for username {}", username);
+        cache.asMap().values().removeIf(credential -> credential.username.equals(username));
+    }
+
+    /**
+     * Discards cached credentials when an Account is modified. Runs after the modifying transaction commits.
+     * 
+     * @param event An AccountChangedEvent.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(final AccountChangedEvent event) {
+        evict(event.getUsername());
+    }
+
+    /**
+     * Returns the hit, miss, and eviction statistics of the cache.
+     * 
+     * @return A CacheStats snapshot.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the approximate number of entries in the cache.
+     * 
+     * @return A long.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private String key(final String username, final String presentedPassword) {
+        return hashFunction.newHasher().putString(username, StandardCharsets.UTF_8).putByte((byte) 0)
+                .putString(presentedPassword, StandardCharsets.UTF_8).hash().toString();
+    }
+
+    /**
+     * A username and encoded password pair which has been verified.
+     */
+    private static final class VerifiedCredential {
+
+        private final String username;
+
+        private final String encodedPassword;
+
+        VerifiedCredential(final String username, final String encodedPassword) {
+            this.username = username;
+            this.encodedPassword = encodedPassword;
+        }
+
+        boolean matches(final String username, final String encodedPassword) {
+            return this.username.equals(username) && this.encodedPassword.equals(encodedPassword);
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.infotech.app.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * <p>
+ * The AccountChangedEvent must be published whenever the security-relevant state of an Account is modified, e.g. the
+ * password or the enabled, locked, or expired flags. Listeners use the event to discard any cached authentication
+ * state held for the Account. Any service method added to modify Accounts must publish this event.
+ * </p>
+ * <p>
+ * The application has no such method yet, so nothing publishes this event. Accounts are maintained only through the
+ * Liquibase changelogs or directly in the database, outside the application. A password, lock, expiry or enabled
+ * change therefore reaches the AccountUserCache and AuthenticationCache only when their entries expire. The
+ * <code>expireAfterWrite</code> durations of <code>cache.accounts.spec</code> and
+ * <code>cache.authentication.spec</code> are the only bound on how long a locked or re-keyed Account keeps
+ * authenticating.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class AccountChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The username of the Account which was changed.
+     */
+    private final String username;
+
+    /**
+     * Construct an AccountChangedEvent.
+     * 
+     * @param source The Object which published the event.
+     * @param username The username of the Account which was changed.
+     */
+    public AccountChangedEvent(final Object source, final String username) {
+        super(source);
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+}
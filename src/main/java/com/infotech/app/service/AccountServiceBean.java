@@ -7,6 +7,8 @@ import org.springframework.stereotype.Service;
 
 import com.infotech.app.model.Account;
 import com.infotech.app.repository.AccountRepository;
+import com.infotech.app.util.Span;
+import com.infotech.app.util.Trace;
 
 /**
  * The AccountServiceBean encapsulates all business behaviors for operations on the Account entity model and some
@@ -30,12 +32,14 @@ public class AccountServiceBean implements AccountService {
 
     @Override
     public Account findByUsername(final String username) {
-        logger.info("> findByUsername");
-
-        final Account account = accountRepository.findByUsername(username);
-
-        logger.info("< findByUsername");
-        return account;
+        final Span span = Trace.start("AccountServiceBean.findByUsername");
+        try {
+            final Account account = accountRepository.findByUsername(username);
+
+            return account;
+        } finally {
+            span.end();
+        }
     }
 
 }
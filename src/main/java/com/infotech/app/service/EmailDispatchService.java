@@ -0,0 +1,34 @@
+package com.infotech.app.service;
+
+import com.infotech.app.model.Greeting;
+
+/**
+ * <p>
+ * The EmailDispatchService interface defines the public behaviors of the outbound email pipeline. Greetings submitted
+ * to the pipeline are queued and delivered in batches by the EmailTransport.
+ * </p>
+ * <p>
+ * This interface should be injected into EmailDispatchService clients, not the implementation bean.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public interface EmailDispatchService {
+
+    /**
+     * Queue a Greeting to be sent via email. Returns immediately. If the Greeting is already queued, the pending send
+     * is coalesced with this one and the Greeting is sent only once.
+     * 
+     * @param greeting A Greeting to send.
+     * @throws java.util.concurrent.RejectedExecutionException Thrown if the queue is full.
+     */
+    void dispatch(Greeting greeting);
+
+    /**
+     * Returns the number of Greetings waiting to be sent.
+     * 
+     * @return An int.
+     */
+    int getQueueSize();
+
+}
@@ -0,0 +1,224 @@
+package com.infotech.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.stereotype.Service;
+
+import com.infotech.app.model.Greeting;
+
+/**
+ * <p>
+ * The EmailDispatchServiceBean implements the outbound email pipeline. Greeting ids are placed on a bounded in-memory
+ * queue which a single dispatcher thread drains. A batch is sent when it reaches <code>email.dispatch.batchsize</code>
+ * Greetings or when <code>email.dispatch.lingermillis</code> have elapsed since its first Greeting was taken, whichever
+ * comes first.
+ * </p>
+ * <p>
+ * Each queued Greeting id appears in the queue at most once. Sends of a Greeting which is already waiting are
+ * coalesced into the pending send, which delivers the most recently submitted Greeting. A Greeting is recorded as
+ * pending only after its id has been accepted by the queue, so a coalesced send always has a queued send to join.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Service
+public class EmailDispatchServiceBean implements EmailDispatchService {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatchServiceBean.class);
+
+    /**
+     * The <code>CounterService</code> captures metrics for Spring Actuator.
+     */
+    @Autowired
+    private transient CounterService counterService;
+
+    /**
+     * The EmailTransport which delivers each batch.
+     */
+    @Autowired
+    private transient EmailTransport emailTransport;
+
+    /**
+     * The maximum number of Greetings sent in one batch.
+     */
+    @Value("${email.dispatch.batchsize}")
+    private transient int batchSize;
+
+    /**
+     * The maximum time in milliseconds a batch waits to fill up before it is sent.
+     */
+    @Value("${email.dispatch.lingermillis}")
+    private transient long lingerMillis;
+
+    /**
+     * The maximum number of Greetings waiting to be sent.
+     */
+    @Value("${email.dispatch.capacity}")
+    private transient int capacity;
+
+    /**
+     * The ids of the Greetings waiting to be sent, in submission order.
+     */
+    private transient BlockingQueue<Long> queue;
+
+    /**
+     * The Greetings waiting to be sent, keyed by id.
+     */
+    private final transient ConcurrentMap<Long, Greeting> pending = new ConcurrentHashMap<Long, Greeting>();
+
+    /**
+     * The thread which drains the queue.
+     */
+    private transient Thread dispatcher;
+
+    /**
+     * Indicates if the dispatcher should continue to wait for new Greetings.
+     */
+    private volatile boolean running;
+
+    /**
+     * Create the queue and start the dispatcher thread.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<Long>(capacity);
+        running = true;
+        dispatcher = new Thread(this::drain, "email-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Stop accepting Greetings and wait for the dispatcher to send those already queued.
+     * 
+     * @throws InterruptedException Thrown if interrupted while waiting for the dispatcher.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Override
+    public void dispatch(final Greeting greeting) {
+        if (!running) {
+            throw new RejectedExecutionException("The email dispatcher is stopped.");
+        }
+
+        // The id is offered to the queue while its pending entry is locked, so an entry exists only once its id is
+        // queued and a send coalesced into it is never lost to a rejected offer
+        final boolean[] coalesced = new boolean[1];
+        final Greeting queued = pending.compute(greeting.getId(), (id, existing) -> {
+            if (existing != null) {
+                coalesced[0] = true;
+                return greeting;
+            }
+            return queue.offer(id) ? greeting : null;
+        });
+
+        if (coalesced[0]) {
+            counterService.increment("email.dispatch.coalesced");
+        } else if (queued == null) {
+            counterService.increment("email.dispatch.rejected");
+            throw new RejectedExecutionException("The email dispatch queue is full.");
+        }
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * The dispatcher thread loop. Collects batches from the queue and sends them until stopped and the queue is empty.
+     */
+    private void drain() {
+        final List<Long> ids = new ArrayList<Long>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(ids);
+            } catch (InterruptedException ie) {
+                logger.info("- Email dispatcher interrupted.");
+                running = false;
+            }
+            if (!ids.isEmpty()) {
+                send(ids);
+                ids.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for the first id to arrive and then collects ids until the batch is full or the linger time elapses.
+     * 
+     * @param ids The List which receives the collected ids.
+     * @throws InterruptedException Thrown if interrupted while waiting.
+     */
+    private void collect(final List<Long> ids) throws InterruptedException {
+        final Long first = queue.poll(lingerMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        ids.add(first);
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (ids.size() < batchSize) {
+            queue.drainTo(ids, batchSize - ids.size());
+            final long remaining = deadline - System.nanoTime();
+            if (ids.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            final Long next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            ids.add(next);
+        }
+    }
+
+    /**
+     * Sends the Greetings for the collected ids through the EmailTransport.
+     * 
+     * @param ids A List of Greeting ids.
+     */
+    private void send(final List<Long> ids) {
+        final List<Greeting> greetings = new ArrayList<Greeting>(ids.size());
+        for (final Long id : ids) {
+            final Greeting greeting = pending.remove(id);
+            if (greeting != null) {
+                greetings.add(greeting);
+            }
+        }
+
+        logger.debug("Sending a batch of {} greetings.", greetings.size());
+        counterService.increment("email.dispatch.batches");
+        try {
+            if (!emailTransport.send(greetings)) {
+                logger.error("The email transport failed to send a batch of {} greetings.", greetings.size());
+                counterService.increment("email.dispatch.failed");
+            }
+        } catch (RuntimeException ex) {
+            logger.error("A problem occurred sending a batch of {} greetings.", greetings.size(), ex);
+            counterService.increment("email.dispatch.failed");
+        }
+    }
+
+}
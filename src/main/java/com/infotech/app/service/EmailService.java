@@ -1,6 +1,6 @@
 package com.infotech.app.service;
 
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 import com.infotech.app.model.Greeting;
 
@@ -32,12 +32,12 @@ public interface EmailService {
     void sendAsync(Greeting greeting);
 
     /**
-     * Send a Greeting via email asynchronously. Returns a Future&lt;Boolean&gt; response allowing the client to obtain
-     * the status of the operation once it is completed.
+     * Send a Greeting via email asynchronously. Returns a CompletableFuture&lt;Boolean&gt; response allowing the
+     * client to react to the status of the operation once it is completed without blocking.
      * 
      * @param greeting A Greeting to send.
-     * @return A Future&lt;Boolean&gt; whose value is TRUE if sent successfully; otherwise, FALSE.
+     * @return A CompletableFuture&lt;Boolean&gt; whose value is TRUE if sent successfully; otherwise, FALSE.
      */
-    Future<Boolean> sendAsyncWithResult(Greeting greeting);
+    CompletableFuture<Boolean> sendAsyncWithResult(Greeting greeting);
 
 }
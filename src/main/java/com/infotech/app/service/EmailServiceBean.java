@@ -1,11 +1,12 @@
 package com.infotech.app.service;
 
-import java.util.concurrent.Future;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 
 import com.infotech.app.model.Greeting;
@@ -24,26 +25,16 @@ public class EmailServiceBean implements EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceBean.class);
 
     /**
-     * Default Thread sleep time in milliseconds.
+     * The EmailTransport which delivers messages.
      */
-    private static final long SLEEP_MILLIS = 5000;
+    @Autowired
+    private transient EmailTransport emailTransport;
 
     @Override
     public Boolean send(final Greeting greeting) {
         logger.info("> send");
 
-        Boolean success;
-
-        // Simulate method execution time
-        try {
-            Thread.sleep(SLEEP_MILLIS);
-        } catch (InterruptedException ie) {
-            logger.info("- Thread interrupted.", ie);
-            // Do nothing.
-        }
-        logger.info("Processing time was {} seconds.", SLEEP_MILLIS / 1000);
-
-        success = Boolean.TRUE;
+        final Boolean success = emailTransport.send(Collections.singletonList(greeting));
 
         logger.info("< send");
         return success;
@@ -61,13 +52,13 @@ public class EmailServiceBean implements EmailService {
 
     @Async
     @Override
-    public Future<Boolean> sendAsyncWithResult(final Greeting greeting) {
+    public CompletableFuture<Boolean> sendAsyncWithResult(final Greeting greeting) {
         logger.info("> sendAsyncWithResult");
 
         final Boolean success = send(greeting);
 
         logger.info("< sendAsyncWithResult");
-        return new AsyncResult<Boolean>(success);
+        return CompletableFuture.completedFuture(success);
     }
 
 }
@@ -0,0 +1,29 @@
+package com.infotech.app.service;
+
+import java.util.List;
+
+import com.infotech.app.model.Greeting;
+
+/**
+ * <p>
+ * The EmailTransport interface defines the mechanism which delivers composed email messages. Implementations receive
+ * messages in batches so that connection and protocol overhead may be shared by every message in the batch.
+ * </p>
+ * <p>
+ * Provide a bean implementing this interface to replace the default transport.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public interface EmailTransport {
+
+    /**
+     * Send a batch of Greetings via email.
+     * 
+     * @param greetings A List of Greetings to send.
+     * @return A boolean whose value is <code>true</code> if the batch was sent successfully; otherwise
+     *         <code>false</code>.
+     */
+    boolean send(List<Greeting> greetings);
+
+}
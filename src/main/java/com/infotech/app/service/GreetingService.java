@@ -1,6 +1,11 @@
 package com.infotech.app.service;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.joda.time.DateTime;
 
 import com.infotech.app.model.Greeting;
 
@@ -23,6 +28,41 @@ public interface GreetingService {
      */
     Collection<Greeting> findAll();
 
+    /**
+     * Find a page of Greeting entities ordered by id using keyset pagination.
+     * 
+     * @param after The id of the last Greeting of the previous page or <code>null</code> for the first page.
+     * @param limit The maximum number of Greeting entities to return.
+     * @return A List of Greeting objects.
+     */
+    List<Greeting> findPage(Long after, int limit);
+
+    /**
+     * Supply all Greeting entities, ordered by id, to the Consumer one at a time. Greetings are read from the data
+     * store incrementally and are not retained once consumed.
+     * 
+     * @param consumer A Consumer of Greeting objects.
+     */
+    void streamAll(Consumer<Greeting> consumer);
+
+    /**
+     * Find the highest Greeting id. This is a cheap check that the Greeting data store is reachable and populated.
+     * 
+     * @return The highest Greeting id or <code>null</code> if there are no Greeting entities.
+     */
+    Long findMaxId();
+
+    /**
+     * Find a chunk of Greeting entities modified after the supplied mark, ordered by <code>modifiedAt</code> and id.
+     * Results are read from the data store, bypassing the Greeting cache.
+     * 
+     * @param since The modification timestamp of the mark.
+     * @param afterId The id of the Greeting at the mark, ordering Greetings modified at the same time.
+     * @param limit The maximum number of Greeting entities to return.
+     * @return A List of Greeting objects.
+     */
+    List<Greeting> findChangedSince(DateTime since, Long afterId, int limit);
+
     /**
      * Find a single Greeting entity by primary key identifier.
      * 
@@ -31,6 +71,26 @@ public interface GreetingService {
      */
     Greeting findOne(Long id);
 
+    /**
+     * Find a single Greeting entity by reference identifier, the identifier held by external systems. The reference
+     * identifier is resolved to the primary key through a cached index, so that a Greeting already in the Greeting
+     * cache is served without querying the data store.
+     * 
+     * @param referenceId A String reference identifier.
+     * @return A Greeting or <code>null</code> if none found.
+     */
+    Greeting findByReferenceId(String referenceId);
+
+    /**
+     * Find many Greeting entities by primary key identifier. Greetings are served from the Greeting cache where
+     * possible; the remaining ids are read from the data store in as few queries as the batch size allows and the
+     * results are added to the cache.
+     * 
+     * @param ids A Collection of primary key identifiers.
+     * @return A List of the Greeting objects found, in the order of their first occurrence in <code>ids</code>.
+     */
+    List<Greeting> findAllById(Collection<Long> ids);
+
     /**
      * Persists a Greeting entity in the data store.
      * 
@@ -40,22 +100,62 @@ public interface GreetingService {
     Greeting create(Greeting greeting);
 
     /**
-     * Updates a previously persisted Greeting entity in the data store.
+     * Updates the text of a previously persisted Greeting entity in the data store with a single statement. If the
+     * Greeting carries a version, the update applies only if the stored Greeting is at that version.
      * 
      * @param greeting A Greeting object to be updated.
-     * @return An updated Greeting object or <code>null</code> if a problem occurred.
+     * @return An updated Greeting object.
+     * @throws javax.persistence.NoResultException if the Greeting does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the Greeting is at another version.
      */
     Greeting update(Greeting greeting);
 
     /**
-     * Removes a previously persisted Greeting entity from the data store.
+     * Persists a List of Greeting entities in the data store in a single transaction.
+     * 
+     * @param greetings A List of Greeting objects to be persisted.
+     * @return A List of the persisted Greeting objects in the order supplied.
+     */
+    List<Greeting> createAll(List<Greeting> greetings);
+
+    /**
+     * Updates a List of previously persisted Greeting entities in the data store in a single transaction.
+     * 
+     * @param greetings A List of Greeting objects to be updated.
+     * @return A List of the updated Greeting objects in the order supplied. The List contains <code>null</code> in
+     *         place of each Greeting which was not found.
+     */
+    List<Greeting> updateAll(List<Greeting> greetings);
+
+    /**
+     * Removes previously persisted Greeting entities from the data store in a single transaction.
+     * 
+     * @param ids A Collection of primary key identifiers.
+     * @return A Set containing the identifiers of the Greeting entities which were removed.
+     */
+    Set<Long> deleteAll(Collection<Long> ids);
+
+    /**
+     * Removes a previously persisted Greeting entity from the data store with a single statement.
      * 
      * @param id A BigInteger primary key identifier.
+     * @throws javax.persistence.NoResultException if the Greeting does not exist.
      */
     void delete(Long id);
 
     /**
-     * Evicts all members of the "greetings" cache.
+     * Removes a previously persisted Greeting entity from the data store with a single statement, only if it is at
+     * the expected version.
+     * 
+     * @param id A Long primary key identifier.
+     * @param version The expected version.
+     * @throws javax.persistence.NoResultException if the Greeting does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the Greeting is at another version.
+     */
+    void delete(Long id, Integer version);
+
+    /**
+     * Evicts all members of the "greetings" and "greetingReferences" caches.
      */
     void evictCache();
 
@@ -1,23 +1,44 @@
 package com.infotech.app.service;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityExistsException;
+import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.PersistenceContext;
 
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.infotech.app.Application;
 import com.infotech.app.model.Greeting;
 import com.infotech.app.repository.GreetingRepository;
+import com.infotech.app.util.RequestContext;
+import com.infotech.app.util.Span;
+import com.infotech.app.util.Trace;
+
+import com.google.common.collect.Lists;
 
 /**
  * The GreetingServiceBean encapsulates all business behaviors operating on the Greeting entity model.
@@ -44,30 +65,194 @@ public class GreetingServiceBean implements GreetingService {
     @Autowired
     private transient GreetingRepository greetingRepository;
 
+    /**
+     * The JPA EntityManager of the current transaction.
+     */
+    @PersistenceContext
+    private transient EntityManager entityManager;
+
+    /**
+     * The CacheManager holding the Greeting cache, maintained directly by the bulk operations.
+     */
+    @Autowired
+    private transient CacheManager cacheManager;
+
+    /**
+     * The number of statements Hibernate groups into one JDBC batch. The persistence context is flushed and cleared
+     * after each chunk of this size so bulk operations run in constant memory.
+     */
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private transient int batchSize;
+
     @Override
     public Collection<Greeting> findAll() {
-        logger.info("> findAll");
+        final Span span = Trace.start("GreetingServiceBean.findAll");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findAll");
 
-        counterService.increment("method.invoked.greetingServiceBean.findAll");
+            final Collection<Greeting> greetings = greetingRepository.findAll();
 
-        final Collection<Greeting> greetings = greetingRepository.findAll();
+            return greetings;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public List<Greeting> findPage(final Long after, final int limit) {
+        final Span span = Trace.start("GreetingServiceBean.findPage");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findPage");
+
+            final List<Greeting> greetings = greetingRepository.findByIdGreaterThanOrderByIdAsc(
+                    after == null ? Long.valueOf(0) : after, new PageRequest(0, limit));
 
-        logger.info("< findAll");
-        return greetings;
+            return greetings;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAll(final Consumer<Greeting> consumer) {
+        final Span span = Trace.start("GreetingServiceBean.streamAll");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.streamAll");
+
+            try (Stream<Greeting> greetings = greetingRepository.streamAll()) {
+                greetings.forEach(greeting -> {
+                    consumer.accept(greeting);
+                    // Release the entity so the persistence context does not grow with the result set
+                    entityManager.detach(greeting);
+                });
+            }
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public Long findMaxId() {
+        final Span span = Trace.start("GreetingServiceBean.findMaxId");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findMaxId");
+
+            final Long maxId = greetingRepository.findMaxId();
+
+            return maxId;
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public List<Greeting> findChangedSince(final DateTime since, final Long afterId, final int limit) {
+        final Span span = Trace.start("GreetingServiceBean.findChangedSince");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findChangedSince");
+
+            final List<Greeting> greetings = greetingRepository.findChangedSince(since, afterId,
+                    new PageRequest(0, limit));
+
+            return greetings;
+        } finally {
+            span.end();
+        }
     }
 
     @Cacheable(value = Application.CACHE_GREETINGS,
-            key = "#id")
+            key = "#id",
+            sync = true)
     @Override
     public Greeting findOne(final Long id) {
-        logger.info("> findOne {}", id);
+        final Span span = Trace.start("GreetingServiceBean.findOne");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findOne");
 
-        counterService.increment("method.invoked.greetingServiceBean.findOne");
+            final Greeting greeting = greetingRepository.findOne(id);
+
+            return greeting;
+        } finally {
+            span.end();
+        }
+    }
 
-        final Greeting greeting = greetingRepository.findOne(id);
+    @Override
+    public Greeting findByReferenceId(final String referenceId) {
+        final Span span = Trace.start("GreetingServiceBean.findByReferenceId");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findByReferenceId");
+
+            final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+            final Cache references = cacheManager.getCache(Application.CACHE_GREETING_REFERENCES);
+
+            // Resolve the index entry through the Greeting cache, checking it still refers to the same Greeting
+            final Long id = references.get(referenceId, Long.class);
+            if (id != null) {
+                final Greeting cachedGreeting = cache.get(id, Greeting.class);
+                if (cachedGreeting != null && referenceId.equals(cachedGreeting.getReferenceId())) {
+                    return cachedGreeting;
+                }
+            }
+
+            final Greeting greeting = greetingRepository.findByReferenceId(referenceId);
+            if (greeting == null) {
+                if (id != null) {
+                    references.evict(referenceId);
+                }
+            } else {
+                cache.putIfAbsent(greeting.getId(), greeting);
+                references.putIfAbsent(referenceId, greeting.getId());
+            }
+
+            return greeting;
+        } finally {
+            span.end();
+        }
+    }
 
-        logger.info("< findOne {}", id);
-        return greeting;
+    @Override
+    public List<Greeting> findAllById(final Collection<Long> ids) {
+        final Span span = Trace.start("GreetingServiceBean.findAllById");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.findAllById");
+
+            final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+            final Map<Long, Greeting> greetings = new HashMap<Long, Greeting>();
+            final List<Long> missedIds = new ArrayList<Long>();
+            final Set<Long> uniqueIds = new LinkedHashSet<Long>(ids);
+            for (final Long id : uniqueIds) {
+                final Cache.ValueWrapper cached = cache.get(id);
+                if (cached == null) {
+                    missedIds.add(id);
+                } else if (cached.get() != null) {
+                    greetings.put(id, (Greeting) cached.get());
+                }
+            }
+
+            // Load every miss with one query per chunk rather than one select per Greeting
+            for (final List<Long> chunk : Lists.partition(missedIds, batchSize)) {
+                for (final Greeting greeting : greetingRepository.findAll(chunk)) {
+                    greetings.put(greeting.getId(), greeting);
+                }
+                for (final Long id : chunk) {
+                    cache.putIfAbsent(id, greetings.get(id));
+                }
+            }
+
+            final List<Greeting> foundGreetings = new ArrayList<Greeting>(greetings.size());
+            for (final Long id : uniqueIds) {
+                final Greeting greeting = greetings.get(id);
+                if (greeting != null) {
+                    foundGreetings.add(greeting);
+                }
+            }
+
+            return foundGreetings;
+        } finally {
+            span.end();
+        }
     }
 
     @CachePut(value = Application.CACHE_GREETINGS,
@@ -75,24 +260,27 @@ public class GreetingServiceBean implements GreetingService {
     @Transactional
     @Override
     public Greeting create(final Greeting greeting) {
-        logger.info("> create");
-
-        counterService.increment("method.invoked.greetingServiceBean.create");
-
-        // Ensure the entity object to be created does NOT exist in the
-        // repository. Prevent the default behavior of save() which will update
-        // an existing entity if the entity matching the supplied id exists.
-        if (greeting.getId() != null) {
-            logger.error("Attempted to create a Greeting, but id attribute was not null.");
-            logger.info("< create");
-            throw new EntityExistsException(
-                    "Cannot create new Greeting with supplied id.  The id attribute must be null to create an entity.");
+        final Span span = Trace.start("GreetingServiceBean.create");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.create");
+
+            // Ensure the entity object to be created does NOT exist in the
+            // repository. Prevent the default behavior of save() which will update
+            // an existing entity if the entity matching the supplied id exists.
+            if (greeting.getId() != null) {
+                logger.error("Attempted to create a Greeting, but id attribute was not null.");
+                throw new EntityExistsException("Cannot create new Greeting with supplied id.  "
+                        + "The id attribute must be null to create an entity.");
+            }
+
+            final Greeting savedGreeting = greetingRepository.save(greeting);
+            cacheManager.getCache(Application.CACHE_GREETING_REFERENCES).put(savedGreeting.getReferenceId(),
+                    savedGreeting.getId());
+
+            return savedGreeting;
+        } finally {
+            span.end();
         }
-
-        final Greeting savedGreeting = greetingRepository.save(greeting);
-
-        logger.info("< create");
-        return savedGreeting;
     }
 
     @CachePut(value = Application.CACHE_GREETINGS,
@@ -100,25 +288,155 @@ public class GreetingServiceBean implements GreetingService {
     @Transactional
     @Override
     public Greeting update(final Greeting greeting) {
-        logger.info("> update {}", greeting.getId());
-
-        counterService.increment("method.invoked.greetingServiceBean.update");
+        final Span span = Trace.start("GreetingServiceBean.update");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.update");
+
+            final Long id = greeting.getId();
+            final Integer version = greeting.getVersion();
+            final String updatedBy = RequestContext.getUsername();
+            if (updatedBy == null) {
+                throw new IllegalArgumentException("Cannot update a Greeting without a username "
+                        + "in the RequestContext for this thread.");
+            }
+            final DateTime updatedAt = new DateTime();
+
+            // A single conditional UPDATE replaces loading, dirty-checking and saving the entity
+            final int updated = version == null
+                    ? greetingRepository.updateText(id, greeting.getText(), updatedBy, updatedAt)
+                    : greetingRepository.updateTextIfVersion(id, version, greeting.getText(), updatedBy, updatedAt);
+            if (updated == 0) {
+                throw notChanged(id, version);
+            }
+
+            // When the prior version is known, the updated Greeting follows from the cached one without a SELECT
+            final Greeting cachedGreeting = version == null ? null
+                    : cacheManager.getCache(Application.CACHE_GREETINGS).get(id, Greeting.class);
+            final Greeting updatedGreeting;
+            if (cachedGreeting != null && version.equals(cachedGreeting.getVersion())) {
+                updatedGreeting = copyOf(cachedGreeting);
+                updatedGreeting.setText(greeting.getText());
+                updatedGreeting.setVersion(version + 1);
+                updatedGreeting.setUpdatedBy(updatedBy);
+                updatedGreeting.setUpdatedAt(updatedAt);
+                updatedGreeting.setModifiedAt(updatedAt);
+            } else {
+                updatedGreeting = greetingRepository.findOne(id);
+            }
+
+            return updatedGreeting;
+        } finally {
+            span.end();
+        }
+    }
 
-        // Ensure the entity object to be updated exists in the repository to
-        // prevent the default behavior of save() which will persist a new
-        // entity if the entity matching the id does not exist
-        final Greeting greetingToUpdate = findOne(greeting.getId());
-        if (greetingToUpdate == null) {
-            logger.error("Attempted to update a Greeting, but the entity does not exist.");
-            logger.info("< update {}", greeting.getId());
-            throw new NoResultException("Requested Greeting not found.");
+    @Transactional
+    @Override
+    public List<Greeting> createAll(final List<Greeting> greetings) {
+        final Span span = Trace.start("GreetingServiceBean.createAll");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.createAll");
+
+            for (final Greeting greeting : greetings) {
+                if (greeting.getId() != null) {
+                    logger.error("Attempted to create a Greeting, but id attribute was not null.");
+                    throw new EntityExistsException("Cannot create new Greeting with supplied id.  "
+                            + "The id attribute must be null to create an entity.");
+                }
+            }
+
+            for (final List<Greeting> chunk : Lists.partition(greetings, batchSize)) {
+                for (final Greeting greeting : chunk) {
+                    entityManager.persist(greeting);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            }
+
+            final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+            final Cache references = cacheManager.getCache(Application.CACHE_GREETING_REFERENCES);
+            for (final Greeting greeting : greetings) {
+                cache.put(greeting.getId(), greeting);
+                references.put(greeting.getReferenceId(), greeting.getId());
+            }
+
+            return greetings;
+        } finally {
+            span.end();
         }
+    }
 
-        greetingToUpdate.setText(greeting.getText());
-        final Greeting updatedGreeting = greetingRepository.save(greetingToUpdate);
+    @Transactional
+    @Override
+    public List<Greeting> updateAll(final List<Greeting> greetings) {
+        final Span span = Trace.start("GreetingServiceBean.updateAll");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.updateAll");
+
+            final List<Greeting> updatedGreetings = new ArrayList<Greeting>(greetings.size());
+            final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+            for (final List<Greeting> chunk : Lists.partition(greetings, batchSize)) {
+                final List<Long> ids = new ArrayList<Long>(chunk.size());
+                for (final Greeting greeting : chunk) {
+                    ids.add(greeting.getId());
+                }
+
+                // Load the whole chunk with one query rather than one select per Greeting
+                final Map<Long, Greeting> greetingsToUpdate = new HashMap<Long, Greeting>();
+                for (final Greeting greetingToUpdate : greetingRepository.findAll(ids)) {
+                    greetingsToUpdate.put(greetingToUpdate.getId(), greetingToUpdate);
+                }
+
+                for (final Greeting greeting : chunk) {
+                    final Greeting greetingToUpdate = greetingsToUpdate.get(greeting.getId());
+                    if (greetingToUpdate != null) {
+                        greetingToUpdate.setText(greeting.getText());
+                    }
+                    updatedGreetings.add(greetingToUpdate);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            }
+
+            for (final Greeting updatedGreeting : updatedGreetings) {
+                if (updatedGreeting != null) {
+                    cache.put(updatedGreeting.getId(), updatedGreeting);
+                }
+            }
+
+            return updatedGreetings;
+        } finally {
+            span.end();
+        }
+    }
 
-        logger.info("< update {}", greeting.getId());
-        return updatedGreeting;
+    @Transactional
+    @Override
+    public Set<Long> deleteAll(final Collection<Long> ids) {
+        final Span span = Trace.start("GreetingServiceBean.deleteAll");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.deleteAll");
+
+            final Set<Long> deletedIds = new LinkedHashSet<Long>(ids.size());
+            final Cache cache = cacheManager.getCache(Application.CACHE_GREETINGS);
+            final List<Long> distinctIds = new ArrayList<Long>(new LinkedHashSet<Long>(ids));
+            for (final List<Long> chunk : Lists.partition(distinctIds, batchSize)) {
+                final List<Long> existingIds = greetingRepository.findIdsByIdIn(chunk);
+                if (!existingIds.isEmpty()) {
+                    greetingRepository.deleteByIdIn(existingIds);
+                    deletedIds.addAll(existingIds);
+                }
+            }
+
+            for (final Long id : deletedIds) {
+                evictReference(id);
+                cache.evict(id);
+            }
+
+            return deletedIds;
+        } finally {
+            span.end();
+        }
     }
 
     @CacheEvict(value = Application.CACHE_GREETINGS,
@@ -126,24 +444,96 @@ public class GreetingServiceBean implements GreetingService {
     @Transactional
     @Override
     public void delete(final Long id) {
-        logger.info("> delete {}", id);
-
-        counterService.increment("method.invoked.greetingServiceBean.delete");
-
-        greetingRepository.delete(id);
-
-        logger.info("< delete {}", id);
+        final Span span = Trace.start("GreetingServiceBean.delete");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.delete");
+
+            if (greetingRepository.deleteOne(id) == 0) {
+                throw notChanged(id, null);
+            }
+            evictReference(id);
+        } finally {
+            span.end();
+        }
     }
 
     @CacheEvict(value = Application.CACHE_GREETINGS,
+            key = "#id")
+    @Transactional
+    @Override
+    public void delete(final Long id, final Integer version) {
+        final Span span = Trace.start("GreetingServiceBean.delete");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.delete");
+
+            if (greetingRepository.deleteOneIfVersion(id, version) == 0) {
+                throw notChanged(id, version);
+            }
+            evictReference(id);
+        } finally {
+            span.end();
+        }
+    }
+
+    @CacheEvict(value = { Application.CACHE_GREETINGS, Application.CACHE_GREETING_REFERENCES },
             allEntries = true)
     @Override
     public void evictCache() {
-        logger.info("> evictCache");
+        final Span span = Trace.start("GreetingServiceBean.evictCache");
+        try {
+            counterService.increment("method.invoked.greetingServiceBean.evictCache");
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Evicts the reference index entry of a Greeting which is being deleted. The reference identifier is known only if
+     * the Greeting is cached; an entry left behind is detected and evicted by the next lookup which misses.
+     * 
+     * @param id The Greeting id.
+     */
+    private void evictReference(final Long id) {
+        final Greeting cachedGreeting = cacheManager.getCache(Application.CACHE_GREETINGS).get(id, Greeting.class);
+        if (cachedGreeting != null && cachedGreeting.getReferenceId() != null) {
+            cacheManager.getCache(Application.CACHE_GREETING_REFERENCES).evict(cachedGreeting.getReferenceId());
+        }
+    }
 
-        counterService.increment("method.invoked.greetingServiceBean.evictCache");
+    /**
+     * Returns the exception describing why a conditional update or delete changed no row. The existence of the
+     * Greeting is only queried on this failure path.
+     * 
+     * @param id The Greeting id.
+     * @param version The expected version, or <code>null</code> if the change was unconditional.
+     * @return A NoResultException if the Greeting does not exist, otherwise an OptimisticLockingFailureException.
+     */
+    private RuntimeException notChanged(final Long id, final Integer version) {
+        if (version == null || !greetingRepository.exists(id)) {
+            logger.error("Attempted to change a Greeting, but the entity does not exist.");
+            return new NoResultException("Requested Greeting not found.");
+        }
+        logger.info("Attempted to change Greeting {} at version {}, but it is at another version.", id, version);
+        return new OptimisticLockingFailureException("Requested Greeting is not at version " + version + ".");
+    }
 
-        logger.info("< evictCache");
+    /**
+     * Returns a copy of a Greeting, so that a cached instance is never modified.
+     * 
+     * @param greeting A Greeting.
+     * @return A new Greeting with the same values.
+     */
+    private static Greeting copyOf(final Greeting greeting) {
+        final Greeting copy = new Greeting(greeting.getText());
+        copy.setId(greeting.getId());
+        copy.setReferenceId(greeting.getReferenceId());
+        copy.setVersion(greeting.getVersion());
+        copy.setCreatedBy(greeting.getCreatedBy());
+        copy.setCreatedAt(greeting.getCreatedAt());
+        copy.setUpdatedBy(greeting.getUpdatedBy());
+        copy.setUpdatedAt(greeting.getUpdatedAt());
+        copy.setModifiedAt(greeting.getModifiedAt());
+        return copy;
     }
 
 }
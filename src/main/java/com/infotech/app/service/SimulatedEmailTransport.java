@@ -0,0 +1,44 @@
+package com.infotech.app.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.infotech.app.model.Greeting;
+
+/**
+ * The SimulatedEmailTransport is the default EmailTransport. It does not deliver messages; it simulates the latency
+ * of a single round-trip to a mail server for each batch.
+ * 
+ * @author MohammadReza Alagheband
+ */
+@Component
+public class SimulatedEmailTransport implements EmailTransport {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedEmailTransport.class);
+
+    /**
+     * Default Thread sleep time in milliseconds.
+     */
+    private static final long SLEEP_MILLIS = 5000;
+
+    @Override
+    public boolean send(final List<Greeting> greetings) {
+        // Simulate method execution time
+        try {
+            Thread.sleep(SLEEP_MILLIS);
+        } catch (InterruptedException ie) {
+            logger.info("- Thread interrupted.", ie);
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Processing time for {} greetings was {} seconds.", greetings.size(), SLEEP_MILLIS / 1000);
+
+        return true;
+    }
+
+}
@@ -0,0 +1,287 @@
+package com.infotech.app.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+/**
+ * <p>
+ * The MonitoredTaskScheduler is a ThreadPoolTaskScheduler which records ScheduledJobStats for every job it runs.
+ * Spring never runs a job in parallel with itself: fixed-rate executions do not overlap, and cron and fixed-delay jobs
+ * are rescheduled only once the current execution has finished. A job therefore never needs guarding against itself;
+ * fires which come due while it is still running are recorded as missed.
+ * </p>
+ * <p>
+ * Fixed-rate jobs which fall a whole period or more behind skip the backlog of executions, recording each as a missed
+ * fire, instead of running them back to back. Trigger-based (cron) jobs record the fires which elapsed while the
+ * previous execution was running as missed.
+ * </p>
+ * <p>
+ * Jobs are isolated from each other: each runs on a single-threaded scheduler of its own, created when the job is
+ * first scheduled and named after it, so a slow or stuck job delays only its own later executions. One-off tasks,
+ * scheduled without a trigger, period or delay, run on this scheduler's own pool.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class MonitoredTaskScheduler extends ThreadPoolTaskScheduler {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The upper bound on missed fires counted for a single late execution of a trigger-based job.
+     */
+    private static final int MAX_MISSED_FIRES = 1000;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<String, Job>();
+
+    private volatile boolean waitForTasksToCompleteOnShutdown;
+
+    private volatile int awaitTerminationSeconds;
+
+    @Override
+    public void setWaitForTasksToCompleteOnShutdown(final boolean waitForTasksToCompleteOnShutdown) {
+        super.setWaitForTasksToCompleteOnShutdown(waitForTasksToCompleteOnShutdown);
+        this.waitForTasksToCompleteOnShutdown = waitForTasksToCompleteOnShutdown;
+    }
+
+    @Override
+    public void setAwaitTerminationSeconds(final int awaitTerminationSeconds) {
+        super.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    /**
+     * Returns the stats of every job scheduled so far.
+     *
+     * @return A Collection of ScheduledJobStats.
+     */
+    public Collection<ScheduledJobStats> getJobStats() {
+        final Collection<ScheduledJobStats> stats = new ArrayList<ScheduledJobStats>(jobs.size());
+        for (final Job job : jobs.values()) {
+            stats.add(job.stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the number of threads of this scheduler's own pool and of every job.
+     *
+     * @return The number of threads.
+     */
+    @Override
+    public int getPoolSize() {
+        int poolSize = super.getPoolSize();
+        for (final Job job : jobs.values()) {
+            poolSize += job.scheduler.getPoolSize();
+        }
+        return poolSize;
+    }
+
+    /**
+     * Returns the number of threads of this scheduler's own pool and of every job which are running a task.
+     *
+     * @return The number of active threads.
+     */
+    @Override
+    public int getActiveCount() {
+        int activeCount = super.getActiveCount();
+        for (final Job job : jobs.values()) {
+            activeCount += job.scheduler.getActiveCount();
+        }
+        return activeCount;
+    }
+
+    /**
+     * Shuts down the scheduler of every job and then this scheduler's own pool. When waiting for running tasks, every
+     * job is told to stop before waiting on any of them, so they finish in parallel.
+     */
+    @Override
+    public void shutdown() {
+        if (waitForTasksToCompleteOnShutdown) {
+            for (final Job job : jobs.values()) {
+                job.scheduler.getScheduledExecutor().shutdown();
+            }
+        }
+        for (final Job job : jobs.values()) {
+            job.scheduler.shutdown();
+        }
+        super.shutdown();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable task, final Trigger trigger) {
+        final Job job = register(task);
+        final ScheduledJobStats stats = job.stats;
+        final AtomicLong due = new AtomicLong();
+        final Trigger monitoredTrigger = triggerContext -> {
+            final Date lastScheduled = triggerContext.lastScheduledExecutionTime();
+            final Date lastCompletion = triggerContext.lastCompletionTime();
+            if (lastScheduled != null && lastCompletion != null) {
+                stats.recordMissed(countFires(trigger, lastScheduled, lastCompletion));
+            }
+            final Date next = trigger.nextExecutionTime(triggerContext);
+            if (next != null) {
+                due.set(next.getTime());
+            }
+            return next;
+        };
+        return job.scheduler.schedule(monitor(stats, task, due::get, 0L), monitoredTrigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable task, final Date startTime, final long period) {
+        final Job job = register(task);
+        // A start time in the past runs the first execution immediately and the rest at the period from then on
+        final AtomicLong due = new AtomicLong(Math.max(startTime.getTime(), System.currentTimeMillis()));
+        return job.scheduler.scheduleAtFixedRate(monitor(job.stats, task, () -> due.getAndAdd(period), period),
+                startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable task, final long period) {
+        final Job job = register(task);
+        final AtomicLong due = new AtomicLong(System.currentTimeMillis());
+        return job.scheduler.scheduleAtFixedRate(monitor(job.stats, task, () -> due.getAndAdd(period), period),
+                period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable task, final Date startTime, final long delay) {
+        final Job job = register(task);
+        final AtomicLong due = new AtomicLong(startTime.getTime());
+        final Runnable monitored = monitor(job.stats, task, due::get, 0L);
+        return job.scheduler.scheduleWithFixedDelay(() -> {
+            monitored.run();
+            due.set(System.currentTimeMillis() + delay);
+        }, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable task, final long delay) {
+        final Job job = register(task);
+        final AtomicLong due = new AtomicLong(System.currentTimeMillis());
+        final Runnable monitored = monitor(job.stats, task, due::get, 0L);
+        return job.scheduler.scheduleWithFixedDelay(() -> {
+            monitored.run();
+            due.set(System.currentTimeMillis() + delay);
+        }, delay);
+    }
+
+    /**
+     * Returns the job a task belongs to, creating its stats and scheduler on first use. Tasks created from
+     * <code>@Scheduled</code> methods are named <code>{SimpleClassName}.{methodName}</code>.
+     *
+     * @param task A Runnable.
+     * @return The Job.
+     */
+    private Job register(final Runnable task) {
+        final String name;
+        if (task instanceof ScheduledMethodRunnable) {
+            final ScheduledMethodRunnable methodRunnable = (ScheduledMethodRunnable) task;
+            name = methodRunnable.getMethod().getDeclaringClass().getSimpleName() + "."
+                    + methodRunnable.getMethod().getName();
+        } else {
+            name = task.getClass().getSimpleName();
+        }
+
+        return jobs.computeIfAbsent(name, jobName -> {
+            final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+            scheduler.setThreadNamePrefix(getThreadNamePrefix() + jobName + "-");
+            scheduler.setWaitForTasksToCompleteOnShutdown(waitForTasksToCompleteOnShutdown);
+            scheduler.setAwaitTerminationSeconds(awaitTerminationSeconds);
+            scheduler.initialize();
+            return new Job(new ScheduledJobStats(jobName), scheduler);
+        });
+    }
+
+    /**
+     * Wraps a task to record its lag and duration and, for fixed-rate jobs, skip executions which are a whole period
+     * or more late.
+     *
+     * @param stats The ScheduledJobStats of the job.
+     * @param task The Runnable to be run.
+     * @param dueTime Supplies the time in milliseconds at which the current execution was due.
+     * @param period The period of a fixed-rate job in milliseconds, or zero.
+     * @return A Runnable.
+     */
+    private static Runnable monitor(final ScheduledJobStats stats, final Runnable task, final DueTime dueTime,
+            final long period) {
+        return () -> {
+            final long startedAt = System.currentTimeMillis();
+            final long lagMillis = Math.max(0L, startedAt - dueTime.next());
+            if (period > 0L && lagMillis >= period) {
+                stats.recordMissed(1L);
+                return;
+            }
+            stats.start();
+            try {
+                task.run();
+            } finally {
+                stats.finish(lagMillis, System.currentTimeMillis() - startedAt);
+            }
+        };
+    }
+
+    /**
+     * Counts the fires of a Trigger strictly after one time and no later than another.
+     *
+     * @param trigger A Trigger.
+     * @param after The time after which fires are counted.
+     * @param until The time up to which fires are counted.
+     * @return The number of fires, at most <code>MAX_MISSED_FIRES</code>.
+     */
+    private static long countFires(final Trigger trigger, final Date after, final Date until) {
+        long fires = 0L;
+        Date fire = after;
+        while (fires < MAX_MISSED_FIRES) {
+            fire = trigger.nextExecutionTime(new SimpleTriggerContext(fire, fire, fire));
+            if (fire == null || fire.after(until)) {
+                break;
+            }
+            fires++;
+        }
+        return fires;
+    }
+
+    /**
+     * The stats of a job and the single-threaded scheduler which runs it.
+     */
+    private static final class Job {
+
+        private final ScheduledJobStats stats;
+
+        private final ThreadPoolTaskScheduler scheduler;
+
+        Job(final ScheduledJobStats stats, final ThreadPoolTaskScheduler scheduler) {
+            this.stats = stats;
+            this.scheduler = scheduler;
+        }
+
+    }
+
+    /**
+     * Supplies the time at which the next execution of a job is due.
+     */
+    @FunctionalInterface
+    private interface DueTime {
+
+        /**
+         * Returns the due time of the execution about to start.
+         *
+         * @return A time in milliseconds.
+         */
+        long next();
+
+    }
+
+}
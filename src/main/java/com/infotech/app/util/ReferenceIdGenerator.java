@@ -0,0 +1,19 @@
+package com.infotech.app.util;
+
+/**
+ * A ReferenceIdGenerator creates the reference identifiers by which external systems refer to persistent entities.
+ * Implementations must be thread-safe and return a value unique across the data store.
+ *
+ * @author MohammadReza Alagheband
+ */
+@FunctionalInterface
+public interface ReferenceIdGenerator {
+
+    /**
+     * Returns a new reference identifier.
+     *
+     * @return A String reference identifier.
+     */
+    String generate();
+
+}
@@ -0,0 +1,50 @@
+package com.infotech.app.util;
+
+/**
+ * <p>
+ * The ReferenceIds class holds the ReferenceIdGenerator used to assign reference identifiers to entities when they are
+ * first persisted. Entities are not Spring beans, so the generator is held statically; it defaults to a
+ * TimeBasedReferenceIdGenerator and may be replaced by declaring a ReferenceIdGenerator bean.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public final class ReferenceIds {
+
+    private static volatile ReferenceIdGenerator generator = new TimeBasedReferenceIdGenerator();
+
+    private ReferenceIds() {
+
+    }
+
+    /**
+     * Returns a new reference identifier from the current generator.
+     *
+     * @return A String reference identifier.
+     */
+    public static String next() {
+        return generator.generate();
+    }
+
+    /**
+     * Returns the current generator.
+     *
+     * @return The ReferenceIdGenerator.
+     */
+    public static ReferenceIdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Replace the generator.
+     *
+     * @param referenceIdGenerator The ReferenceIdGenerator to use from now on.
+     */
+    public static void setGenerator(final ReferenceIdGenerator referenceIdGenerator) {
+        if (referenceIdGenerator == null) {
+            throw new IllegalArgumentException("The ReferenceIdGenerator must not be null.");
+        }
+        generator = referenceIdGenerator;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.infotech.app.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * The ScheduledJobStats records the executions of one scheduled job: how many ran, how many fires were missed
+ * because the scheduler fell behind, whether the job is running now, and the duration and lag of each execution. Lag
+ * is the time between the moment an execution was due and the moment it started.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class ScheduledJobStats {
+
+    private final String name;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder runs = new LongAdder();
+
+    private final LongAdder missed = new LongAdder();
+
+    private final AtomicLong maxDurationMillis = new AtomicLong();
+
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    private volatile long lastDurationMillis;
+
+    private volatile long lastLagMillis;
+
+    /**
+     * Construct a ScheduledJobStats.
+     *
+     * @param name The name of the job.
+     */
+    public ScheduledJobStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Marks the job as running.
+     */
+    public void start() {
+        running.set(true);
+    }
+
+    /**
+     * Records a finished execution and marks the job as no longer running.
+     *
+     * @param lagMillis The time in milliseconds between the due time and the start of the execution.
+     * @param durationMillis The time in milliseconds the execution took.
+     */
+    public void finish(final long lagMillis, final long durationMillis) {
+        lastLagMillis = lagMillis;
+        lastDurationMillis = durationMillis;
+        maxLagMillis.accumulateAndGet(lagMillis, Math::max);
+        maxDurationMillis.accumulateAndGet(durationMillis, Math::max);
+        runs.increment();
+        running.set(false);
+    }
+
+    /**
+     * Records fires which were not executed because the scheduler fell behind.
+     *
+     * @param count The number of missed fires.
+     */
+    public void recordMissed(final long count) {
+        missed.add(count);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    public long getMissed() {
+        return missed.sum();
+    }
+
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    public long getMaxDurationMillis() {
+        return maxDurationMillis.get();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.infotech.app.util;
+
+/**
+ * <p>
+ * A Span times one unit of work, such as a controller or service method, within a sampled Trace. Spans are obtained
+ * from {@link Trace#start(String)} and finished with {@link #end()}.
+ * </p>
+ * <p>
+ * When the current request is not sampled, {@link Trace#start(String)} returns a shared no-op Span so that tracing
+ * costs nothing beyond a ThreadLocal lookup.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class Span {
+
+    /**
+     * The Span returned when the current thread has no sampled Trace.
+     */
+    static final Span NOOP = new Span(null, null, 0, 0L);
+
+    private final Trace trace;
+
+    private final String name;
+
+    private final int depth;
+
+    private final long startNanos;
+
+    private long durationNanos = -1L;
+
+    /**
+     * Construct a Span.
+     * 
+     * @param trace The Trace the Span belongs to.
+     * @param name The name of the unit of work.
+     * @param depth The nesting depth of the Span within the Trace.
+     * @param startNanos The <code>System.nanoTime()</code> at which the Span started.
+     */
+    Span(final Trace trace, final String name, final int depth, final long startNanos) {
+        this.trace = trace;
+        this.name = name;
+        this.depth = depth;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Finish the Span, recording its duration. Calling <code>end</code> more than once has no further effect.
+     */
+    public void end() {
+        if (trace != null && durationNanos < 0L) {
+            durationNanos = System.nanoTime() - startNanos;
+            trace.ended(this);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Returns the duration of the Span.
+     * 
+     * @return The duration in nanoseconds, or <code>-1</code> if the Span has not ended.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.infotech.app.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * <p>
+ * The TaskExecutionStats is a TaskDecorator which records the time each task waits in an executor queue and the time
+ * it spends executing. Rejected submissions are counted via {@link #recordRejection()}.
+ * </p>
+ * <p>
+ * All counters are lock-free so that recording does not add contention to the executor.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class TaskExecutionStats implements TaskDecorator {
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final LongAdder totalExecutionNanos = new LongAdder();
+
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        final long submittedAt = System.nanoTime();
+        return () -> {
+            final long startedAt = System.nanoTime();
+            totalWaitNanos.add(startedAt - submittedAt);
+            try {
+                runnable.run();
+            } finally {
+                final long executionNanos = System.nanoTime() - startedAt;
+                totalExecutionNanos.add(executionNanos);
+                maxExecutionNanos.accumulateAndGet(executionNanos, Math::max);
+                completed.increment();
+            }
+        };
+    }
+
+    /**
+     * Records that a task was rejected by the executor.
+     */
+    public void recordRejection() {
+        rejected.increment();
+    }
+
+    /**
+     * Returns the number of tasks which have finished executing.
+     * 
+     * @return A long.
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns the number of tasks rejected by the executor.
+     * 
+     * @return A long.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the mean time in milliseconds tasks waited in the queue before execution.
+     * 
+     * @return A double.
+     */
+    public double getMeanWaitMillis() {
+        return meanMillis(totalWaitNanos.sum());
+    }
+
+    /**
+     * Returns the mean time in milliseconds tasks spent executing.
+     * 
+     * @return A double.
+     */
+    public double getMeanExecutionMillis() {
+        return meanMillis(totalExecutionNanos.sum());
+    }
+
+    /**
+     * Returns the longest time in milliseconds a task spent executing.
+     * 
+     * @return A long.
+     */
+    public long getMaxExecutionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxExecutionNanos.get());
+    }
+
+    private double meanMillis(final long totalNanos) {
+        final long count = completed.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.infotech.app.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * The TimeBasedReferenceIdGenerator creates version 7 UUIDs: a 48-bit Unix timestamp in milliseconds, followed by a
+ * 12-bit sequence and 62 random bits. Identifiers sort by creation time, so they are inserted at the end of the unique
+ * index on <code>referenceId</code> rather than at random positions.
+ * </p>
+ * <p>
+ * The random bits come from ThreadLocalRandom, which never blocks on the entropy pool or contends on a shared lock as
+ * the SecureRandom behind <code>UUID.randomUUID()</code> does. Reference identifiers need to be unique, not
+ * unguessable; uniqueness is guaranteed within a node by the timestamp and sequence, which increase strictly even if
+ * more than 4096 identifiers are created in one millisecond or the clock moves backwards, and across nodes by the
+ * random bits.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+public class TimeBasedReferenceIdGenerator implements ReferenceIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long VERSION_7 = 0x7000L;
+
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+    private final LongSupplier clock;
+
+    /**
+     * The timestamp in milliseconds and sequence of the last identifier, as <code>millis << 12 | sequence</code>.
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Construct a TimeBasedReferenceIdGenerator using the system clock.
+     */
+    public TimeBasedReferenceIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Construct a TimeBasedReferenceIdGenerator.
+     *
+     * @param clock Supplies the current time in milliseconds.
+     */
+    public TimeBasedReferenceIdGenerator(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate() {
+        return generateUuid().toString();
+    }
+
+    /**
+     * Returns a new version 7 UUID.
+     *
+     * @return A UUID.
+     */
+    public UUID generateUuid() {
+        final long timeAndSequence = nextTimeAndSequence();
+        final long mostSigBits = (timeAndSequence >>> SEQUENCE_BITS) << 16 | VERSION_7
+                | (timeAndSequence & SEQUENCE_MASK);
+        final long leastSigBits = ThreadLocalRandom.current().nextLong() & VARIANT_MASK | VARIANT_RFC_4122;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Returns the timestamp and sequence of the next identifier: the current time with sequence zero or, if that is
+     * not after the last identifier, the last identifier's plus one.
+     *
+     * @return The timestamp in milliseconds and sequence, as <code>millis << 12 | sequence</code>.
+     */
+    private long nextTimeAndSequence() {
+        final long now = clock.getAsLong() << SEQUENCE_BITS;
+        while (true) {
+            final long previous = last.get();
+            final long next = now > previous ? now : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.infotech.app.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>
+ * A Trace collects the Spans timed while a single sampled request is processed, so that the request can be reported as
+ * one structured event instead of a log line on entry to and exit from every method.
+ * </p>
+ * <p>
+ * Like the RequestContext, the current Trace is stored in a ThreadLocal. A Trace is begun and ended by the
+ * RequestContextInitializationFilter for sampled requests only. Components time their work with
+ * {@link #start(String)}, which returns a no-op Span when the current request is not sampled.
+ * </p>
+ * 
+ * @author MohammadReza Alagheband
+ */
+public final class Trace {
+
+    /**
+     * ThreadLocal storage of the Trace of the current request.
+     */
+    private static ThreadLocal<Trace> traces = new ThreadLocal<Trace>();
+
+    private final String id;
+
+    private final String name;
+
+    private final long startNanos;
+
+    private final List<Span> spans = new ArrayList<Span>();
+
+    private int depth;
+
+    private long durationNanos;
+
+    private Trace(final String name) {
+        this.id = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        this.name = name;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Begin a Trace on the current thread.
+     * 
+     * @param name The name of the traced request, e.g. the HTTP method and path.
+     * @return The Trace.
+     */
+    public static Trace begin(final String name) {
+        final Trace trace = new Trace(name);
+        traces.set(trace);
+        return trace;
+    }
+
+    /**
+     * End the Trace of the current thread, if any, and remove it from the thread.
+     * 
+     * @return The ended Trace or <code>null</code> if the current thread has no Trace.
+     */
+    public static Trace end() {
+        final Trace trace = traces.get();
+        if (trace != null) {
+            traces.remove();
+            trace.durationNanos = System.nanoTime() - trace.startNanos;
+        }
+        return trace;
+    }
+
+    /**
+     * Start a Span within the Trace of the current thread.
+     * 
+     * @param name The name of the unit of work, conventionally <code>{SimpleClassName}.{methodName}</code>.
+     * @return A Span, or a no-op Span if the current thread has no Trace.
+     */
+    public static Span start(final String name) {
+        final Trace trace = traces.get();
+        if (trace == null) {
+            return Span.NOOP;
+        }
+        final Span span = new Span(trace, name, trace.depth++, System.nanoTime());
+        trace.spans.add(span);
+        return span;
+    }
+
+    /**
+     * Record that a Span of this Trace has ended.
+     * 
+     * @param span The Span.
+     */
+    void ended(final Span span) {
+        depth = span.getDepth();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public List<Span> getSpans() {
+        return spans;
+    }
+
+    /**
+     * Returns the Trace as a Map suitable for a structured log event. Each Span is reported with its nesting depth,
+     * start offset and duration in microseconds; a Span which did not end, e.g. because an exception was thrown, has a
+     * duration of <code>-1</code>.
+     * 
+     * @return A Map of field names to values.
+     */
+    public Map<String, Object> toFields() {
+        final List<Map<String, Object>> spanFields = new ArrayList<Map<String, Object>>(spans.size());
+        for (final Span span : spans) {
+            final Map<String, Object> fields = new LinkedHashMap<String, Object>();
+            fields.put("name", span.getName());
+            fields.put("depth", span.getDepth());
+            fields.put("offsetMicros", (span.getStartNanos() - startNanos) / 1000L);
+            fields.put("durationMicros", span.getDurationNanos() < 0L ? -1L : span.getDurationNanos() / 1000L);
+            spanFields.add(fields);
+        }
+
+        final Map<String, Object> fields = new LinkedHashMap<String, Object>();
+        fields.put("traceId", id);
+        fields.put("traceName", name);
+        fields.put("traceDurationMicros", durationNanos / 1000L);
+        fields.put("spans", spanFields);
+        return fields;
+    }
+
+}
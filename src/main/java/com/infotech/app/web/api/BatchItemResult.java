@@ -0,0 +1,97 @@
+package com.infotech.app.web.api;
+
+import com.infotech.app.model.Greeting;
+
+/**
+ * The BatchItemResult class models the outcome of a single item of a bulk web service request. A bulk request returns
+ * one BatchItemResult per item supplied, in the order supplied.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class BatchItemResult {
+
+    /**
+     * The position of the item in the bulk request.
+     */
+    private final int index;
+    /**
+     * The primary key identifier of the Greeting the item refers to, if known.
+     */
+    private final Long id;
+    /**
+     * The HTTP status code describing the outcome of the item.
+     */
+    private final int status;
+    /**
+     * The resulting Greeting, if any.
+     */
+    private final Greeting greeting;
+    /**
+     * A description of the reason the item was not processed, if any.
+     */
+    private final String message;
+
+    /**
+     * Construct a BatchItemResult.
+     *
+     * @param index The position of the item in the bulk request.
+     * @param id The primary key identifier of the Greeting, or <code>null</code>.
+     * @param status The HTTP status code describing the outcome of the item.
+     * @param greeting The resulting Greeting, or <code>null</code>.
+     * @param message A description of the reason the item was not processed, or <code>null</code>.
+     */
+    public BatchItemResult(final int index, final Long id, final int status, final Greeting greeting,
+            final String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.greeting = greeting;
+        this.message = message;
+    }
+
+    /**
+     * Returns the index attribute value.
+     *
+     * @return An int.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the id attribute value.
+     *
+     * @return A Long.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the status attribute value.
+     *
+     * @return An int.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the greeting attribute value.
+     *
+     * @return A Greeting.
+     */
+    public Greeting getGreeting() {
+        return greeting;
+    }
+
+    /**
+     * Returns the message attribute value.
+     *
+     * @return A String.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+}
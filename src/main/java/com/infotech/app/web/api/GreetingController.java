@@ -1,24 +1,46 @@
 package com.infotech.app.web.api;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletResponse;
 
 import com.infotech.app.model.Greeting;
+import com.infotech.app.service.EmailDispatchService;
 import com.infotech.app.service.EmailService;
 import com.infotech.app.service.GreetingService;
+import com.infotech.app.util.Span;
+import com.infotech.app.util.Trace;
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 
 /**
  * The GreetingController class is a RESTful web service controller. The <code>@RestController</code> annotation informs
@@ -46,9 +68,41 @@ public class GreetingController {
     @Autowired
     private transient EmailService emailService;
 
+    /**
+     * The EmailDispatchService outbound email pipeline.
+     */
+    @Autowired
+    private transient EmailDispatchService emailDispatchService;
+
+    /**
+     * The time in milliseconds a client waiting for an email to be sent is held before a response is returned.
+     */
+    @Value("${email.send.timeoutmillis}")
+    private transient long sendTimeoutMillis;
+
+    /**
+     * The maximum number of Greeting entities returned in one page.
+     */
+    @Value("${greeting.page.maxsize}")
+    private transient int maxPageSize;
+
+    /**
+     * The maximum number of items accepted in one bulk request.
+     */
+    @Value("${greeting.batch.maxsize}")
+    private transient int maxBatchSize;
+
+    /**
+     * The Jackson ObjectMapper used to stream JSON responses.
+     */
+    @Autowired
+    private transient ObjectMapper objectMapper;
+
     /**
      * Web service endpoint to fetch all Greeting entities. The service returns the collection of Greeting entities as
-     * JSON.
+     * JSON. The entire collection is held in memory; prefer the paginated or streaming variants of this endpoint for
+     * large data sets. The response carries an ETag aggregated from the ids and versions of the Greetings and the
+     * latest Last-Modified time among them; a conditional request which matches receives HTTP status 304 with no body.
      * 
      * @return A ResponseEntity containing a Collection of Greeting objects.
      */
@@ -56,12 +110,127 @@ public class GreetingController {
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<Greeting>> getGreetings() {
-        logger.info("> getGreetings");
+        final Span span = Trace.start("GreetingController.getGreetings");
+        try {
+            final Collection<Greeting> greetings = greetingService.findAll();
 
-        final Collection<Greeting> greetings = greetingService.findAll();
+            return new ResponseEntity<Collection<Greeting>>(greetings, validators(greetings), HttpStatus.OK);
+        } finally {
+            span.end();
+        }
+    }
 
-        logger.info("< getGreetings");
-        return new ResponseEntity<Collection<Greeting>>(greetings, HttpStatus.OK);
+    /**
+     * <p>
+     * Web service endpoint to fetch a page of Greeting entities ordered by id. Selected by the presence of the
+     * <code>limit</code> request parameter. The optional <code>after</code> request parameter contains the id of the
+     * last Greeting of the previous page.
+     * </p>
+     * <p>
+     * The service returns the page of Greeting entities as JSON with HTTP status 200. When more Greetings may follow,
+     * the response contains a <code>Link</code> header with relation <code>next</code> referring to the next page. The
+     * page carries an aggregated ETag and Last-Modified time as described for <code>getGreetings</code>.
+     * </p>
+     * 
+     * @param limit The maximum number of Greeting entities to return, capped at <code>greeting.page.maxsize</code>.
+     * @param after The id after which the page begins, or <code>null</code> for the first page.
+     * @return A ResponseEntity containing a List of Greeting objects.
+     */
+    @RequestMapping(value = "/api/greetings",
+            method = RequestMethod.GET,
+            params = "limit",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Greeting>> getGreetingsPage(@RequestParam("limit") final int limit,
+            @RequestParam(value = "after",
+                    required = false) final Long after) {
+        final Span span = Trace.start("GreetingController.getGreetingsPage");
+        try {
+            final int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+            final List<Greeting> greetings = greetingService.findPage(after, pageSize);
+
+            final HttpHeaders headers = validators(greetings);
+            if (greetings.size() == pageSize) {
+                final Long lastId = greetings.get(greetings.size() - 1).getId();
+                final String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("limit", pageSize).replaceQueryParam("after", lastId).toUriString();
+                headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+
+            return new ResponseEntity<List<Greeting>>(greetings, headers, HttpStatus.OK);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * <p>
+     * Web service endpoint to fetch many Greeting entities by primary key identifier in one request. Selected by the
+     * presence of the <code>ids</code> request parameter, a comma-separated list of ids.
+     * </p>
+     * <p>
+     * The service returns the Greetings found as a JSON array, in the order requested and without duplicates, with HTTP
+     * status 200. Ids which do not exist are omitted. Cached Greetings are served from the cache and the rest are read
+     * with a single query. The response carries an aggregated ETag and Last-Modified time as described for
+     * <code>getGreetings</code>. If more than <code>greeting.batch.maxsize</code> ids are requested, the service
+     * returns an empty response body with HTTP status 400.
+     * </p>
+     * 
+     * @param ids The List of Greeting primary key identifiers.
+     * @return A ResponseEntity containing a List of Greeting objects and a HTTP status code as described in the method
+     *         comment.
+     */
+    @RequestMapping(value = "/api/greetings",
+            method = RequestMethod.GET,
+            params = "ids",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Greeting>> getGreetingsById(@RequestParam("ids") final List<Long> ids) {
+        final Span span = Trace.start("GreetingController.getGreetingsById");
+        try {
+            if (ids.size() > maxBatchSize || ids.contains(null)) {
+                return new ResponseEntity<List<Greeting>>(HttpStatus.BAD_REQUEST);
+            }
+
+            final List<Greeting> greetings = greetingService.findAllById(ids);
+
+            return new ResponseEntity<List<Greeting>>(greetings, validators(greetings), HttpStatus.OK);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Web service endpoint to stream all Greeting entities. Selected by the request parameter
+     * <code>stream=true</code>. The service writes the Greeting entities to the response as a JSON array while they
+     * are read from the data store, so memory use does not grow with the number of Greetings.
+     * 
+     * @param response The HttpServletResponse to which the JSON array is written.
+     * @throws IOException Thrown if a problem occurs writing the response.
+     */
+    @RequestMapping(value = "/api/greetings",
+            method = RequestMethod.GET,
+            params = "stream=true",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamGreetings(final HttpServletResponse response) throws IOException {
+        final Span span = Trace.start("GreetingController.streamGreetings");
+        try {
+            response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+
+            final ObjectWriter writer = objectMapper.writerFor(Greeting.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.writeStartArray();
+                greetingService.streamAll(greeting -> {
+                    try {
+                        writer.writeValue(generator, greeting);
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        } finally {
+            span.end();
+        }
     }
 
     /**
@@ -72,6 +241,13 @@ public class GreetingController {
      * If found, the Greeting is returned as JSON with HTTP status 200. If not found, the service returns an empty
      * response body with HTTP status 404.
      * </p>
+     * <p>
+     * The response carries a strong ETag derived from the id and version of the Greeting and a Last-Modified time from
+     * its <code>updatedAt</code>, or <code>createdAt</code> if it was never updated. A request whose
+     * <code>If-None-Match</code> or <code>If-Modified-Since</code> header matches receives HTTP status 304 with no
+     * body. The Greeting is usually served from the cache, so such requests neither query the database nor serialize
+     * the entity.
+     * </p>
      * 
      * @param id A Long URL path variable containing the Greeting primary key identifier.
      * @return A ResponseEntity containing a single Greeting object, if found, and a HTTP status code as described in
@@ -81,16 +257,62 @@ public class GreetingController {
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Greeting> getGreeting(@PathVariable final Long id) {
-        logger.info("> getGreeting");
+        final Span span = Trace.start("GreetingController.getGreeting");
+        try {
+            final Greeting greeting = greetingService.findOne(id);
+            if (greeting == null) {
+                return new ResponseEntity<Greeting>(HttpStatus.NOT_FOUND);
+            }
 
-        final Greeting greeting = greetingService.findOne(id);
-        if (greeting == null) {
-            logger.info("< getGreeting");
-            return new ResponseEntity<Greeting>(HttpStatus.NOT_FOUND);
+            final HttpHeaders headers = new HttpHeaders();
+            headers.setETag(eTag(greeting));
+            final long lastModified = lastModified(greeting);
+            if (lastModified >= 0) {
+                headers.setLastModified(lastModified);
+            }
+
+            return new ResponseEntity<Greeting>(greeting, headers, HttpStatus.OK);
+        } finally {
+            span.end();
         }
+    }
+
+    /**
+     * <p>
+     * Web service endpoint to fetch a single Greeting entity by reference identifier, the identifier held by external
+     * systems.
+     * </p>
+     * <p>
+     * If found, the Greeting is returned as JSON with HTTP status 200 and the same validators as
+     * <code>getGreeting</code>. If not found, the service returns an empty response body with HTTP status 404.
+     * </p>
+     * 
+     * @param referenceId A String URL path variable containing the Greeting reference identifier.
+     * @return A ResponseEntity containing a single Greeting object, if found, and a HTTP status code as described in
+     *         the method comment.
+     */
+    @RequestMapping(value = "/api/greetings/ref/{referenceId}",
+            method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Greeting> getGreetingByReferenceId(@PathVariable final String referenceId) {
+        final Span span = Trace.start("GreetingController.getGreetingByReferenceId");
+        try {
+            final Greeting greeting = greetingService.findByReferenceId(referenceId);
+            if (greeting == null) {
+                return new ResponseEntity<Greeting>(HttpStatus.NOT_FOUND);
+            }
+
+            final HttpHeaders headers = new HttpHeaders();
+            headers.setETag(eTag(greeting));
+            final long lastModified = lastModified(greeting);
+            if (lastModified >= 0) {
+                headers.setLastModified(lastModified);
+            }
 
-        logger.info("< getGreeting");
-        return new ResponseEntity<Greeting>(greeting, HttpStatus.OK);
+            return new ResponseEntity<Greeting>(greeting, headers, HttpStatus.OK);
+        } finally {
+            span.end();
+        }
     }
 
     /**
@@ -112,12 +334,14 @@ public class GreetingController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Greeting> createGreeting(@RequestBody final Greeting greeting) {
-        logger.info("> createGreeting");
-
-        final Greeting savedGreeting = greetingService.create(greeting);
+        final Span span = Trace.start("GreetingController.createGreeting");
+        try {
+            final Greeting savedGreeting = greetingService.create(greeting);
 
-        logger.info("< createGreeting");
-        return new ResponseEntity<Greeting>(savedGreeting, HttpStatus.CREATED);
+            return new ResponseEntity<Greeting>(savedGreeting, HttpStatus.CREATED);
+        } finally {
+            span.end();
+        }
     }
 
     /**
@@ -126,11 +350,19 @@ public class GreetingController {
      * object in JSON format. The Greeting is updated in the data repository.
      * </p>
      * <p>
-     * If updated successfully, the persisted Greeting is returned as JSON with HTTP status 200. If not found, the
-     * service returns an empty response body and HTTP status 404. If not updated successfully, the service returns an
-     * empty response body with HTTP status 500.
+     * If updated successfully, the persisted Greeting is returned as JSON with HTTP status 200 and its new ETag. If not
+     * found, the service returns an empty response body and HTTP status 404. If not updated successfully, the service
+     * returns an empty response body with HTTP status 500.
+     * </p>
+     * <p>
+     * An <code>If-Match</code> header carrying one or more ETags from previous responses makes the update
+     * conditional: it is applied only if the Greeting is still at one of those versions, otherwise the service returns
+     * HTTP status 409, conflict. Tags are compared strongly, so a weak tag never matches. Without the header, or with
+     * <code>If-Match: *</code>, the update is unconditional.
      * </p>
      * 
+     * @param id A Long URL path variable containing the Greeting primary key identifier.
+     * @param ifMatch The optional <code>If-Match</code> request header.
      * @param greeting The Greeting object to be updated.
      * @return A ResponseEntity containing a single Greeting object, if updated successfully, and a HTTP status code as
      *         described in the method comment.
@@ -140,15 +372,22 @@ public class GreetingController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Greeting> updateGreeting(@PathVariable("id") final Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
             @RequestBody final Greeting greeting) {
-        logger.info("> updateGreeting");
+        final Span span = Trace.start("GreetingController.updateGreeting");
+        try {
+            greeting.setId(id);
+            greeting.setVersion(expectedVersion(id, ifMatch));
 
-        greeting.setId(id);
+            final Greeting updatedGreeting = greetingService.update(greeting);
 
-        final Greeting updatedGreeting = greetingService.update(greeting);
+            final HttpHeaders headers = new HttpHeaders();
+            headers.setETag(eTag(updatedGreeting));
 
-        logger.info("< updateGreeting");
-        return new ResponseEntity<Greeting>(updatedGreeting, HttpStatus.OK);
+            return new ResponseEntity<Greeting>(updatedGreeting, headers, HttpStatus.OK);
+        } finally {
+            span.end();
+        }
     }
 
     /**
@@ -157,71 +396,352 @@ public class GreetingController {
      * identifier of the Greeting to be deleted is supplied in the URL as a path variable.
      * </p>
      * <p>
-     * If deleted successfully, the service returns an empty response body with HTTP status 204. If not deleted
-     * successfully, the service returns an empty response body with HTTP status 500.
+     * If deleted successfully, the service returns an empty response body with HTTP status 204. If not found, the
+     * service returns HTTP status 404. If not deleted successfully, the service returns an empty response body with
+     * HTTP status 500.
+     * </p>
+     * <p>
+     * An <code>If-Match</code> header makes the delete conditional on the version of the Greeting, as for updates,
+     * and a mismatch returns HTTP status 409, conflict.
      * </p>
      * 
      * @param id A Long URL path variable containing the Greeting primary key identifier.
+     * @param ifMatch The optional <code>If-Match</code> request header.
      * @return A ResponseEntity with an empty response body and a HTTP status code as described in the method comment.
      */
     @RequestMapping(value = "/api/greetings/{id}",
             method = RequestMethod.DELETE)
-    public ResponseEntity<Greeting> deleteGreeting(@PathVariable("id") final Long id) {
-        logger.info("> deleteGreeting");
-
-        greetingService.delete(id);
+    public ResponseEntity<Greeting> deleteGreeting(@PathVariable("id") final Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+        final Span span = Trace.start("GreetingController.deleteGreeting");
+        try {
+            final Integer version = expectedVersion(id, ifMatch);
+            if (version == null) {
+                greetingService.delete(id);
+            } else {
+                greetingService.delete(id, version);
+            }
 
-        logger.info("< deleteGreeting");
-        return new ResponseEntity<Greeting>(HttpStatus.NO_CONTENT);
+            return new ResponseEntity<Greeting>(HttpStatus.NO_CONTENT);
+        } finally {
+            span.end();
+        }
     }
 
     /**
      * <p>
-     * Web service endpoint to fetch a single Greeting entity by primary key identifier and send it as an email.
+     * Web service endpoint to create many Greeting entities in one transaction. The HTTP request body is expected to
+     * contain a JSON array of Greeting objects, each without an id.
      * </p>
      * <p>
-     * If found, the Greeting is returned as JSON with HTTP status 200 and sent via Email. If not found, the service
-     * returns an empty response body with HTTP status 404.
+     * The service returns a JSON array with one result per Greeting, in the order supplied, with HTTP status 200. Each
+     * result carries status 201 and the persisted Greeting, or status 400 if the Greeting has an id. If the request
+     * contains more than <code>greeting.batch.maxsize</code> Greetings or a null element, the service returns an empty
+     * response body with HTTP status 400.
      * </p>
      * 
-     * @param id A Long URL path variable containing the Greeting primary key identifier.
-     * @param waitForAsyncResult A boolean indicating if the web service should wait for the asynchronous email
-     *            transmission.
-     * @return A ResponseEntity containing a single Greeting object, if found, and a HTTP status code as described in
-     *         the method comment.
+     * @param greetings The List of Greeting objects to be created.
+     * @return A ResponseEntity containing a List of BatchItemResult objects and a HTTP status code as described in the
+     *         method comment.
      */
-    @RequestMapping(value = "/api/greetings/{id}/send",
+    @RequestMapping(value = "/api/greetings/batch",
             method = RequestMethod.POST,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> createGreetings(@RequestBody final List<Greeting> greetings) {
+        final Span span = Trace.start("GreetingController.createGreetings");
+        try {
+            if (greetings.size() > maxBatchSize || greetings.contains(null)) {
+                return new ResponseEntity<List<BatchItemResult>>(HttpStatus.BAD_REQUEST);
+            }
+
+            final boolean[] accepted = new boolean[greetings.size()];
+            final List<Greeting> greetingsToCreate = new ArrayList<Greeting>(greetings.size());
+            for (int i = 0; i < greetings.size(); i++) {
+                if (greetings.get(i).getId() == null) {
+                    accepted[i] = true;
+                    greetingsToCreate.add(greetings.get(i));
+                }
+            }
+            if (!greetingsToCreate.isEmpty()) {
+                greetingService.createAll(greetingsToCreate);
+            }
+
+            // createAll assigns ids to the supplied instances, so the request order is preserved by walking the request
+            final List<BatchItemResult> results = new ArrayList<BatchItemResult>(greetings.size());
+            for (int i = 0; i < greetings.size(); i++) {
+                final Greeting greeting = greetings.get(i);
+                if (accepted[i]) {
+                    results.add(new BatchItemResult(i, greeting.getId(), HttpStatus.CREATED.value(), greeting, null));
+                } else {
+                    results.add(new BatchItemResult(i, greeting.getId(), HttpStatus.BAD_REQUEST.value(), null,
+                            "The id attribute must be null to create an entity."));
+                }
+            }
+
+            return new ResponseEntity<List<BatchItemResult>>(results, HttpStatus.OK);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * <p>
+     * Web service endpoint to update many Greeting entities in one transaction. The HTTP request body is expected to
+     * contain a JSON array of Greeting objects, each with an id.
+     * </p>
+     * <p>
+     * The service returns a JSON array with one result per Greeting, in the order supplied, with HTTP status 200. Each
+     * result carries status 200 and the updated Greeting, status 404 if the Greeting does not exist, or status 400 if
+     * the Greeting has no id. If the request contains more than <code>greeting.batch.maxsize</code> Greetings or a null
+     * element, the service returns an empty response body with HTTP status 400.
+     * </p>
+     * 
+     * @param greetings The List of Greeting objects to be updated.
+     * @return A ResponseEntity containing a List of BatchItemResult objects and a HTTP status code as described in the
+     *         method comment.
+     */
+    @RequestMapping(value = "/api/greetings/batch",
+            method = RequestMethod.PUT,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> updateGreetings(@RequestBody final List<Greeting> greetings) {
+        final Span span = Trace.start("GreetingController.updateGreetings");
+        try {
+            if (greetings.size() > maxBatchSize || greetings.contains(null)) {
+                return new ResponseEntity<List<BatchItemResult>>(HttpStatus.BAD_REQUEST);
+            }
+
+            final List<Greeting> greetingsToUpdate = new ArrayList<Greeting>(greetings.size());
+            for (final Greeting greeting : greetings) {
+                if (greeting.getId() != null) {
+                    greetingsToUpdate.add(greeting);
+                }
+            }
+            final List<Greeting> updatedGreetings = greetingsToUpdate.isEmpty() ? greetingsToUpdate
+                    : greetingService.updateAll(greetingsToUpdate);
+
+            final List<BatchItemResult> results = new ArrayList<BatchItemResult>(greetings.size());
+            int updated = 0;
+            for (int i = 0; i < greetings.size(); i++) {
+                final Greeting greeting = greetings.get(i);
+                if (greeting.getId() == null) {
+                    results.add(new BatchItemResult(i, null, HttpStatus.BAD_REQUEST.value(), null,
+                            "The id attribute must not be null to update an entity."));
+                    continue;
+                }
+                final Greeting updatedGreeting = updatedGreetings.get(updated++);
+                if (updatedGreeting == null) {
+                    results.add(new BatchItemResult(i, greeting.getId(), HttpStatus.NOT_FOUND.value(), null,
+                            "Requested Greeting not found."));
+                } else {
+                    results.add(new BatchItemResult(i, greeting.getId(), HttpStatus.OK.value(), updatedGreeting, null));
+                }
+            }
+
+            return new ResponseEntity<List<BatchItemResult>>(results, HttpStatus.OK);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * <p>
+     * Web service endpoint to delete many Greeting entities in one transaction. The HTTP request body is expected to
+     * contain a JSON array of Greeting primary key identifiers.
+     * </p>
+     * <p>
+     * The service returns a JSON array with one result per identifier, in the order supplied, with HTTP status 200.
+     * Each result carries status 204 if the Greeting was deleted or status 404 if it does not exist. If the request
+     * contains more than <code>greeting.batch.maxsize</code> identifiers or a null element, the service returns an
+     * empty response body with HTTP status 400.
+     * </p>
+     * 
+     * @param ids The List of Greeting primary key identifiers.
+     * @return A ResponseEntity containing a List of BatchItemResult objects and a HTTP status code as described in the
+     *         method comment.
+     */
+    @RequestMapping(value = "/api/greetings/batch",
+            method = RequestMethod.DELETE,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Greeting> sendGreeting(@PathVariable("id") final Long id, @RequestParam(value = "wait",
-            defaultValue = "false") final boolean waitForAsyncResult) {
+    public ResponseEntity<List<BatchItemResult>> deleteGreetings(@RequestBody final List<Long> ids) {
+        final Span span = Trace.start("GreetingController.deleteGreetings");
+        try {
+            if (ids.size() > maxBatchSize || ids.contains(null)) {
+                return new ResponseEntity<List<BatchItemResult>>(HttpStatus.BAD_REQUEST);
+            }
 
-        logger.info("> sendGreeting");
+            final Set<Long> deletedIds = greetingService.deleteAll(ids);
 
-        Greeting greeting;
+            final List<BatchItemResult> results = new ArrayList<BatchItemResult>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                final Long id = ids.get(i);
+                if (deletedIds.contains(id)) {
+                    results.add(new BatchItemResult(i, id, HttpStatus.NO_CONTENT.value(), null, null));
+                } else {
+                    results.add(new BatchItemResult(i, id, HttpStatus.NOT_FOUND.value(), null,
+                            "Requested Greeting not found."));
+                }
+            }
+
+            return new ResponseEntity<List<BatchItemResult>>(results, HttpStatus.OK);
+        } finally {
+            span.end();
+        }
+    }
 
+    /**
+     * <p>
+     * Web service endpoint to fetch a single Greeting entity by primary key identifier and send it as an email. The
+     * optional <code>wait</code> request parameter selects whether the response waits for the email to be sent; it
+     * accepts any boolean form, e.g. <code>true</code>, <code>TRUE</code>, <code>1</code> or <code>yes</code>, and
+     * defaults to <code>false</code>.
+     * </p>
+     * <p>
+     * If not found, the service returns an empty response body with HTTP status 404.
+     * </p>
+     * <p>
+     * Without <code>wait</code>, the Greeting is returned as JSON with HTTP status 200 and queued on the
+     * EmailDispatchService to be sent in a batch with other Greetings. If the queue is full, the service returns HTTP
+     * status 503.
+     * </p>
+     * <p>
+     * With <code>wait</code>, the request thread is released while the email is in flight. If the email is sent, the
+     * Greeting is returned as JSON with HTTP status 200. If the email is not sent within
+     * <code>email.send.timeoutmillis</code>, the Greeting is returned with HTTP status 202 while transmission
+     * continues. If the asynchronous executor is full, the service returns HTTP status 503. If a problem occurs
+     * sending the email, the service returns an empty response body with HTTP status 500.
+     * </p>
+     * 
+     * @param id A Long URL path variable containing the Greeting primary key identifier.
+     * @param wait A boolean request parameter indicating whether to wait for the email to be sent.
+     * @return A DeferredResult which is completed with a ResponseEntity containing a single Greeting object, if found,
+     *         and a HTTP status code as described in the method comment.
+     */
+    @RequestMapping(value = "/api/greetings/{id}/send",
+            method = RequestMethod.POST,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<Greeting>> sendGreeting(@PathVariable("id") final Long id,
+            @RequestParam(value = "wait",
+                    defaultValue = "false") final boolean wait) {
+        final Span span = Trace.start("GreetingController.sendGreeting");
         try {
-            greeting = greetingService.findOne(id);
+            final DeferredResult<ResponseEntity<Greeting>> deferredResult =
+                    new DeferredResult<ResponseEntity<Greeting>>(sendTimeoutMillis);
+
+            final Greeting greeting = greetingService.findOne(id);
             if (greeting == null) {
-                logger.info("< sendGreeting");
-                return new ResponseEntity<Greeting>(HttpStatus.NOT_FOUND);
+                deferredResult.setResult(new ResponseEntity<Greeting>(HttpStatus.NOT_FOUND));
+                return deferredResult;
             }
 
-            if (waitForAsyncResult) {
-                final Future<Boolean> asyncResponse = emailService.sendAsyncWithResult(greeting);
-                final boolean emailSent = asyncResponse.get();
-                logger.info("- greeting email sent? {}", emailSent);
-            } else {
-                emailService.sendAsync(greeting);
+            if (!wait) {
+                emailDispatchService.dispatch(greeting);
+                deferredResult.setResult(new ResponseEntity<Greeting>(greeting, HttpStatus.OK));
+                return deferredResult;
+            }
+
+            deferredResult.onTimeout(() -> deferredResult.setResult(new ResponseEntity<Greeting>(greeting,
+                    HttpStatus.ACCEPTED)));
+
+            emailService.sendAsyncWithResult(greeting).whenComplete((emailSent, ex) -> {
+                if (ex != null) {
+                    logger.error("A problem occurred sending the Greeting.", ex);
+                    deferredResult.setResult(new ResponseEntity<Greeting>(HttpStatus.INTERNAL_SERVER_ERROR));
+                } else {
+                    logger.debug("- greeting email sent? {}", emailSent);
+                    deferredResult.setResult(new ResponseEntity<Greeting>(greeting, HttpStatus.OK));
+                }
+            });
+
+            return deferredResult;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Returns the strong entity tag of a Greeting, derived from its id and version.
+     * 
+     * @param greeting A Greeting.
+     * @return A quoted entity tag.
+     */
+    private static String eTag(final Greeting greeting) {
+        return "\"" + greeting.getId() + "-" + greeting.getVersion() + "\"";
+    }
+
+    /**
+     * Returns the version an <code>If-Match</code> header requires a Greeting to be at. The header may list several
+     * entity tags. They are compared strongly, so weak tags never match, and tags for another Greeting or which cannot
+     * be parsed are ignored. If no tag remains, a version no Greeting has is returned so that the condition fails. If
+     * tags for more than one version remain, the current version is returned when it is among them.
+     * 
+     * @param id The Greeting id.
+     * @param ifMatch The <code>If-Match</code> header value, or <code>null</code>.
+     * @return The expected version, or <code>null</code> if the header is absent or <code>*</code>.
+     */
+    private Integer expectedVersion(final Long id, final String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        final String prefix = "\"" + id + "-";
+        final Set<Integer> versions = new HashSet<Integer>();
+        for (final String element : ifMatch.split(",")) {
+            final String tag = element.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    versions.add(Integer.valueOf(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException nfe) {
+                    logger.debug("- unparseable If-Match version: {}", tag);
+                }
+            }
+        }
+        if (versions.size() == 1) {
+            return versions.iterator().next();
+        }
+        if (versions.size() > 1) {
+            final Greeting current = greetingService.findOne(id);
+            if (current != null && versions.contains(current.getVersion())) {
+                return current.getVersion();
             }
-        } catch (ExecutionException | InterruptedException ex) {
-            logger.error("A problem occurred sending the Greeting.", ex);
-            return new ResponseEntity<Greeting>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
+        return Integer.valueOf(-1);
+    }
 
-        logger.info("< sendGreeting");
-        return new ResponseEntity<Greeting>(greeting, HttpStatus.OK);
+    /**
+     * Returns the time at which a Greeting was last modified.
+     * 
+     * @param greeting A Greeting.
+     * @return The <code>modifiedAt</code> time in milliseconds, or -1 if it is not set.
+     */
+    private static long lastModified(final Greeting greeting) {
+        final DateTime modifiedAt = greeting.getModifiedAt();
+        return modifiedAt == null ? -1L : modifiedAt.getMillis();
+    }
 
+    /**
+     * Returns the validators of a list of Greetings: an ETag aggregated from the id and version of each Greeting, in
+     * order, and the latest Last-Modified time among them.
+     * 
+     * @param greetings A Collection of Greetings.
+     * @return The HttpHeaders holding the validators.
+     */
+    private static HttpHeaders validators(final Collection<Greeting> greetings) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        long lastModified = -1L;
+        for (final Greeting greeting : greetings) {
+            hasher.putLong(greeting.getId() == null ? 0L : greeting.getId());
+            hasher.putInt(greeting.getVersion() == null ? -1 : greeting.getVersion());
+            lastModified = Math.max(lastModified, lastModified(greeting));
+        }
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"" + hasher.hash() + "\"");
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        return headers;
     }
 
 }
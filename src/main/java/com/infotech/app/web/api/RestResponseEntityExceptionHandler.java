@@ -1,10 +1,13 @@
 package com.infotech.app.web.api;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import javax.persistence.NoResultException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +26,11 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
 
     private static final Logger logger = LoggerFactory.getLogger(RestResponseEntityExceptionHandler.class);
 
+    /**
+     * The number of seconds a client is asked to wait before retrying a request which was rejected due to load.
+     */
+    private static final String RETRY_AFTER_SECONDS = "5";
+
     /**
      * Handles JPA NoResultExceptions thrown from web service controller methods. Creates a response with an empty body
      * and HTTP status code 404, not found.
@@ -58,6 +66,46 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return handleExceptionInternal(ex, detail, new HttpHeaders(), HttpStatus.NOT_FOUND, request);
     }
 
+    /**
+     * Handles OptimisticLockingFailureExceptions thrown from web service controller methods when a conditional change
+     * finds the entity at another version. Creates a response with the Exception detail in the response body as JSON
+     * and HTTP status code 409, conflict.
+     * 
+     * @param ex An OptimisticLockingFailureException instance.
+     * @return A ResponseEntity containing the Exception attributes in the response body and HTTP status code 409.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(final OptimisticLockingFailureException ex,
+            final WebRequest request) {
+        logger.info("> handleOptimisticLockingFailureException");
+        logger.info("- OptimisticLockingFailureException: {}", ex.getMessage());
+        final ExceptionDetail detail = new ExceptionDetailBuilder().exception(ex).httpStatus(HttpStatus.CONFLICT)
+                .webRequest(request).build();
+        logger.info("< handleOptimisticLockingFailureException");
+        return handleExceptionInternal(ex, detail, new HttpHeaders(), HttpStatus.CONFLICT, request);
+    }
+
+    /**
+     * Handles RejectedExecutionExceptions thrown from web service controller methods when a bounded executor cannot
+     * accept more work. Creates a response with the Exception detail in the response body as JSON, a Retry-After
+     * header, and HTTP status code 503, service unavailable.
+     * 
+     * @param ex A RejectedExecutionException instance.
+     * @return A ResponseEntity containing the Exception attributes in the response body and HTTP status code 503.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> handleRejectedExecutionException(final RejectedExecutionException ex,
+            final WebRequest request) {
+        logger.info("> handleRejectedExecutionException");
+        logger.warn("- RejectedExecutionException: {}", ex.getMessage());
+        final ExceptionDetail detail = new ExceptionDetailBuilder().exception(ex)
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE).webRequest(request).build();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        logger.info("< handleRejectedExecutionException");
+        return handleExceptionInternal(ex, detail, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     /**
      * Handles all Exceptions not addressed by more specific <code>@ExceptionHandler</code> methods. Creates a response
      * with the Exception detail in the response body as JSON and a HTTP status code of 500, internal server error.
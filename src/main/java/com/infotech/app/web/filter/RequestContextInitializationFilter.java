@@ -1,15 +1,20 @@
 package com.infotech.app.web.filter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 
 import com.infotech.app.util.RequestContext;
+import com.infotech.app.util.Trace;
+import net.logstash.logback.marker.Markers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -18,6 +23,10 @@ import org.springframework.web.filter.GenericFilterBean;
 /**
  * The RequestContextInitializationFilter is executed for every web request. The filter initializes the RequestContext
  * for the current thread, preventing leaking of RequestContext attributes from the previous thread's execution.
+ * <p>
+ * The filter also samples requests for tracing. A fraction <code>tracing.samplerate</code> of requests is traced; the
+ * Spans timed while a sampled request is processed are reported as a single structured log event when it completes.
+ * </p>
  * 
  * @author MohammadReza Alagheband
  */
@@ -30,15 +39,31 @@ public class RequestContextInitializationFilter extends GenericFilterBean {
      */
     private static final Logger logger = LoggerFactory.getLogger(RequestContextInitializationFilter.class);
 
+    /**
+     * The fraction of requests, between 0 and 1, which are traced.
+     */
+    @Value("${tracing.samplerate}")
+    private transient double sampleRate;
+
     @Override
     public void doFilter(final ServletRequest req, final ServletResponse resp, final FilterChain chain)
             throws IOException, ServletException {
-        logger.info("> doFilter");
-
         RequestContext.init();
 
-        chain.doFilter(req, resp);
-        logger.info("< doFilter");
+        if (sampleRate <= 0.0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(req, resp);
+            return;
+        }
+
+        final HttpServletRequest request = (HttpServletRequest) req;
+        Trace.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(req, resp);
+        } finally {
+            final Trace trace = Trace.end();
+            logger.info(Markers.appendEntries(trace.toFields()), "trace {} {} {}us", trace.getId(), trace.getName(),
+                    trace.getDurationNanos() / 1000L);
+        }
     }
 
 }
@@ -8,8 +8,8 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletResponse;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.infotech.app.util.Span;
+import com.infotech.app.util.Trace;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.GenericFilterBean;
 
@@ -22,24 +22,21 @@ import org.springframework.web.filter.GenericFilterBean;
 @Component
 public class SimpleCorsFilter extends GenericFilterBean {
 
-    /**
-     * The Logger for this class.
-     */
-    private static final Logger logger = LoggerFactory.getLogger(SimpleCorsFilter.class);
-
     @Override
     public void doFilter(final ServletRequest req, final ServletResponse resp, final FilterChain chain)
             throws IOException, ServletException {
-        logger.info("> doFilter");
-
-        final HttpServletResponse response = (HttpServletResponse) resp;
-        response.setHeader("Access-Control-Allow-Origin", "*");
-        response.setHeader("Access-Control-Allow-Methods", "DELETE, GET, OPTIONS, PATCH, POST, PUT");
-        response.setHeader("Access-Control-Max-Age", "3600");
-        response.setHeader("Access-Control-Allow-Headers", "x-requested-with, content-type");
-
-        chain.doFilter(req, resp);
-        logger.info("< doFilter");
+        final Span span = Trace.start("SimpleCorsFilter.doFilter");
+        try {
+            final HttpServletResponse response = (HttpServletResponse) resp;
+            response.setHeader("Access-Control-Allow-Origin", "*");
+            response.setHeader("Access-Control-Allow-Methods", "DELETE, GET, OPTIONS, PATCH, POST, PUT");
+            response.setHeader("Access-Control-Max-Age", "3600");
+            response.setHeader("Access-Control-Allow-Headers", "x-requested-with, content-type");
+
+            chain.doFilter(req, resp);
+        } finally {
+            span.end();
+        }
     }
 
 }
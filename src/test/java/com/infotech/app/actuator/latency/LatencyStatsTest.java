@@ -0,0 +1,61 @@
+package com.infotech.app.actuator.latency;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the LatencyStats.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class LatencyStatsTest extends AbstractTest {
+
+    private LatencyStats stats;
+
+    @Override
+    public void doBeforeEachTest() {
+        stats = new LatencyStats("service.GreetingService.findOne");
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testSnapshot() {
+
+        final long startNanos = System.nanoTime();
+        for (int micros = 1; micros <= 1000; micros++) {
+            stats.record(startNanos, startNanos + TimeUnit.MICROSECONDS.toNanos(micros), micros % 100 == 0);
+        }
+
+        final Map<String, Object> snapshot = stats.snapshot();
+
+        Assert.assertEquals("failure - expected count", 1000L, snapshot.get("count"));
+        Assert.assertEquals("failure - expected errors", 10L, snapshot.get("errors"));
+        Assert.assertEquals("failure - expected p50", 0.5, (Double) snapshot.get("latency.p50"), 0.01);
+        Assert.assertEquals("failure - expected p99", 0.99, (Double) snapshot.get("latency.p99"), 0.01);
+        Assert.assertEquals("failure - expected max", 1.0, (Double) snapshot.get("latency.max"), 0.01);
+
+    }
+
+    @Test
+    public void testRecordBeyondRange() {
+
+        final long startNanos = System.nanoTime();
+        stats.record(startNanos, startNanos + TimeUnit.HOURS.toNanos(2), false);
+
+        final Map<String, Object> snapshot = stats.snapshot();
+
+        Assert.assertEquals("failure - expected count", 1L, snapshot.get("count"));
+        Assert.assertTrue("failure - expected max of at least one hour",
+                (Double) snapshot.get("latency.max") >= TimeUnit.HOURS.toMillis(1));
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.infotech.app.actuator.metrics;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.infotech.app.AbstractTest;
+import com.infotech.app.util.MonitoredTaskScheduler;
+import com.infotech.app.util.ScheduledJobStats;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the ScheduledJobMetrics using a mocked MonitoredTaskScheduler.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class ScheduledJobMetricsTest extends AbstractTest {
+
+    private ScheduledJobMetrics scheduledJobMetrics;
+
+    private ScheduledJobStats stats;
+
+    @Override
+    public void doBeforeEachTest() {
+        stats = new ScheduledJobStats("GreetingBatchBean.cronJob");
+
+        final MonitoredTaskScheduler scheduler = mock(MonitoredTaskScheduler.class);
+        when(scheduler.getActiveCount()).thenReturn(1);
+        when(scheduler.getPoolSize()).thenReturn(5);
+        when(scheduler.getJobStats()).thenReturn(Collections.singletonList(stats));
+
+        scheduledJobMetrics = new ScheduledJobMetrics();
+        ReflectionTestUtils.setField(scheduledJobMetrics, "batchTaskScheduler", scheduler);
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testMetricsExport() {
+
+        stats.start();
+        stats.finish(30L, 100L);
+        stats.start();
+        stats.recordMissed(2L);
+
+        final Map<String, Number> exported = exported();
+
+        Assert.assertEquals("failure - expected 9 metrics", 9, exported.size());
+        Assert.assertEquals("failure - expected active threads", 1, exported.get("scheduler.batch.threads.active"));
+        Assert.assertEquals("failure - expected pool size", 5, exported.get("scheduler.batch.threads.pool"));
+
+        final String prefix = "scheduler.batch.job.GreetingBatchBean.cronJob.";
+        Assert.assertEquals("failure - expected running", 1, exported.get(prefix + "running"));
+        Assert.assertEquals("failure - expected 1 run", 1L, exported.get(prefix + "runs"));
+        Assert.assertEquals("failure - expected 2 missed", 2L, exported.get(prefix + "missed"));
+        Assert.assertEquals("failure - expected last duration", 100L, exported.get(prefix + "duration.last"));
+        Assert.assertEquals("failure - expected max duration", 100L, exported.get(prefix + "duration.max"));
+        Assert.assertEquals("failure - expected last lag", 30L, exported.get(prefix + "lag.last"));
+        Assert.assertEquals("failure - expected max lag", 30L, exported.get(prefix + "lag.max"));
+
+    }
+
+    private Map<String, Number> exported() {
+        final Map<String, Number> exported = new HashMap<String, Number>();
+        for (final Metric<?> metric : scheduledJobMetrics.metrics()) {
+            exported.put(metric.getName(), metric.getValue());
+        }
+        return exported;
+    }
+
+}
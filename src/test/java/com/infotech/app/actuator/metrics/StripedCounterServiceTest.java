@@ -0,0 +1,83 @@
+package com.infotech.app.actuator.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * Unit tests for the StripedCounterService.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class StripedCounterServiceTest extends AbstractTest {
+
+    private StripedCounterService counterService;
+
+    @Override
+    public void doBeforeEachTest() {
+        counterService = new StripedCounterService();
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws Exception {
+
+        final int threads = 8;
+        final int increments = 10000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < increments; j++) {
+                    counterService.increment("method.invoked.greetingServiceBean.findOne");
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue("failure - expected increments to finish", executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        Assert.assertEquals("failure - expected all increments", (long) threads * increments,
+                exported().get("counter.method.invoked.greetingServiceBean.findOne").longValue());
+
+    }
+
+    @Test
+    public void testExportNames() {
+
+        counterService.increment("meter.requests");
+        counterService.increment("counter.logins");
+        counterService.increment("requests");
+        counterService.decrement("requests");
+        counterService.increment("email.dispatch.batches");
+        counterService.reset("email.dispatch.batches");
+
+        final Map<String, Number> exported = exported();
+
+        Assert.assertEquals("failure - expected 1", 1L, exported.get("meter.requests").longValue());
+        Assert.assertEquals("failure - expected 1", 1L, exported.get("counter.logins").longValue());
+        Assert.assertEquals("failure - expected 0", 0L, exported.get("counter.requests").longValue());
+        Assert.assertEquals("failure - expected 4 metrics", 4, exported.size());
+        Assert.assertEquals("failure - expected reset", 0L,
+                exported.get("counter.email.dispatch.batches").longValue());
+
+    }
+
+    private Map<String, Number> exported() {
+        final Map<String, Number> exported = new HashMap<String, Number>();
+        for (final Metric<?> metric : counterService.metrics()) {
+            exported.put(metric.getName(), metric.getValue());
+        }
+        return exported;
+    }
+
+}
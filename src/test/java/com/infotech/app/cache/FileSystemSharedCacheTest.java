@@ -0,0 +1,152 @@
+package com.infotech.app.cache;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Unit tests for the FileSystemSharedCache. Two nodes share a temporary directory and a clock which the tests advance.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class FileSystemSharedCacheTest extends AbstractTest {
+
+    private static final String CACHE = "greetings";
+
+    private static final long SEGMENT_BYTES = 512L;
+
+    private final AtomicLong clock = new AtomicLong(1000L);
+
+    private Path directory;
+
+    private FileSystemSharedCache sharedA;
+
+    private FileSystemSharedCache sharedB;
+
+    private List<String> invalidationsB;
+
+    @Override
+    public void doBeforeEachTest() {
+        try {
+            directory = Files.createTempDirectory("shared-cache");
+            // poll manually rather than on the background thread
+            sharedA = new FileSystemSharedCache(directory, 3600000L, SEGMENT_BYTES, clock::get);
+            sharedB = new FileSystemSharedCache(directory, 3600000L, SEGMENT_BYTES, clock::get);
+            sharedA.start();
+            sharedB.start();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        invalidationsB = new ArrayList<String>();
+        sharedB.setInvalidationListener((cacheName, key) -> invalidationsB.add(cacheName + ":" + key));
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        sharedA.stop();
+        sharedB.stop();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Test
+    public void testEntryExpiresAfterTtl() {
+
+        sharedA.put(CACHE, 1L, "Hello World!", 600000L);
+        sharedA.put(CACHE, 2L, "Hola Mundo!", 0L);
+
+        clock.addAndGet(599999L);
+        Assert.assertNotNull("failure - expected entry before expiry", sharedB.get(CACHE, 1L));
+
+        clock.addAndGet(1L);
+        Assert.assertNull("failure - expected expired entry to be a miss", sharedB.get(CACHE, 1L));
+        Assert.assertEquals("failure - expected entry without ttl kept", "Hola Mundo!", sharedB.get(CACHE, 2L).get());
+
+        sharedA.put(CACHE, 1L, "Hello World!", 600000L);
+        Assert.assertNotNull("failure - expected rewritten entry", sharedB.get(CACHE, 1L));
+
+    }
+
+    @Test
+    public void testSharedExpiryFollowsL1Spec() {
+
+        final Cache nodeA = cache(sharedA, "maximumSize=100,expireAfterWrite=600s");
+        final Cache nodeB = cache(sharedB, "maximumSize=100,expireAfterWrite=600s");
+
+        nodeA.put(1L, "Hello World!");
+        clock.addAndGet(600000L);
+
+        Assert.assertNull("failure - expected shared entry expired with L1", nodeB.get(1L));
+
+        Assert.assertEquals("failure - expected expireAfterWrite", 600000L,
+                TwoLevelCacheManager.expiryMillis("maximumSize=250,expireAfterWrite=600s,refreshAfterWrite=480s"));
+        Assert.assertEquals("failure - expected expireAfterAccess", 600000L,
+                TwoLevelCacheManager.expiryMillis("maximumSize=250,expireAfterAccess=10m"));
+        Assert.assertEquals("failure - expected no expiry", 0L, TwoLevelCacheManager.expiryMillis("maximumSize=250"));
+
+    }
+
+    @Test
+    public void testJournalStartsNewSegmentsAndDeletesOld() throws Exception {
+
+        for (long key = 0; key < 100; key++) {
+            sharedA.publishInvalidation(CACHE, key);
+            sharedB.poll();
+            Assert.assertTrue("failure - expected at most 2 journal segments", journalSegments() <= 2);
+        }
+
+        Assert.assertEquals("failure - expected every invalidation", 100, invalidationsB.size());
+        for (int key = 0; key < 100; key++) {
+            Assert.assertEquals("failure - expected invalidations in order", CACHE + ":" + key,
+                    invalidationsB.get(key));
+        }
+
+    }
+
+    @Test
+    public void testLaggingNodeInvalidatesEverything() throws Exception {
+
+        for (long key = 0; key < 100; key++) {
+            sharedA.publishInvalidation(CACHE, key);
+        }
+        sharedB.poll();
+
+        Assert.assertEquals("failure - expected lost invalidations reported first", "null:null",
+                invalidationsB.get(0));
+        Assert.assertEquals("failure - expected the last invalidation", CACHE + ":99",
+                invalidationsB.get(invalidationsB.size() - 1));
+
+        invalidationsB.clear();
+        sharedA.publishInvalidation(CACHE, 100L);
+        sharedB.poll();
+
+        Assert.assertEquals("failure - expected only the new invalidation", 1, invalidationsB.size());
+        Assert.assertEquals("failure - expected the new invalidation", CACHE + ":100", invalidationsB.get(0));
+
+    }
+
+    private int journalSegments() throws Exception {
+        int segments = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "invalidations-*.log")) {
+            for (final Path file : files) {
+                segments++;
+            }
+        }
+        return segments;
+    }
+
+    private static Cache cache(final SharedCache shared, final String spec) {
+        final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(shared);
+        cacheManager.addCache(CACHE, spec);
+        return cacheManager.getCache(CACHE);
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.infotech.app.cache;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import com.infotech.app.AbstractTest;
+import com.infotech.app.Application;
+import com.infotech.app.model.Greeting;
+import com.infotech.app.repository.GreetingRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.springframework.cache.Cache;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Unit tests for the GreetingCacheWarmer using a mocked GreetingRepository and a snapshot file in a temporary
+ * directory.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class GreetingCacheWarmerTest extends AbstractTest {
+
+    private static final String SPEC = "maximumSize=100";
+
+    private Path directory;
+
+    private GreetingRepository greetingRepository;
+
+    @Override
+    public void doBeforeEachTest() {
+        try {
+            directory = Files.createTempDirectory("cache-warmup");
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        greetingRepository = mock(GreetingRepository.class);
+        when(greetingRepository.findAll(Matchers.<Iterable<Long>>any())).thenAnswer(invocation -> {
+            final List<Greeting> greetings = new ArrayList<Greeting>();
+            for (final Object id : (Iterable<?>) invocation.getArguments()[0]) {
+                greetings.add(greeting((Long) id));
+            }
+            return greetings;
+        });
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+
+        // A node with three cached Greetings shuts down and records them
+        final TwoLevelCacheManager firstCacheManager = cacheManager();
+        final Cache firstCache = firstCacheManager.getCache(Application.CACHE_GREETINGS);
+        for (long id = 1; id <= 3; id++) {
+            firstCache.put(id, greeting(id));
+        }
+        warmer(firstCacheManager).writeSnapshot();
+
+        final Path snapshot = directory.resolve("greetings-hottest.txt");
+        Assert.assertEquals("failure - expected recorded ids", new HashSet<String>(Arrays.asList("1", "2", "3")),
+                new HashSet<String>(Files.readAllLines(snapshot, StandardCharsets.UTF_8)));
+
+        // The next node warms its empty cache from the snapshot
+        final TwoLevelCacheManager secondCacheManager = cacheManager();
+        final GreetingCacheWarmer warmer = warmer(secondCacheManager);
+        warmer.onApplicationEvent(null);
+        awaitComplete(warmer);
+
+        final Cache secondCache = secondCacheManager.getCache(Application.CACHE_GREETINGS);
+        Assert.assertEquals("failure - expected outcome complete", "complete", warmer.getOutcome());
+        Assert.assertEquals("failure - expected snapshot source", "snapshot", warmer.getSource());
+        Assert.assertEquals("failure - expected 3 greetings loaded", 3, warmer.getLoaded());
+        for (long id = 1; id <= 3; id++) {
+            Assert.assertNotNull("failure - expected greeting " + id + " cached", secondCache.get(id));
+        }
+        verify(greetingRepository, never()).findRecentlyModifiedIds(any(Pageable.class));
+
+    }
+
+    @Test
+    public void testDisabledWarmUpIsComplete() {
+
+        final GreetingCacheWarmer warmer = warmer(cacheManager());
+        ReflectionTestUtils.setField(warmer, "enabled", false);
+
+        warmer.onApplicationEvent(null);
+        warmer.writeSnapshot();
+
+        Assert.assertTrue("failure - expected complete", warmer.isComplete());
+        Assert.assertEquals("failure - expected outcome disabled", "disabled", warmer.getOutcome());
+        Assert.assertFalse("failure - expected no snapshot", Files.exists(directory.resolve("greetings-hottest.txt")));
+
+    }
+
+    private TwoLevelCacheManager cacheManager() {
+        final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(new NoOpSharedCache());
+        cacheManager.addCache(Application.CACHE_GREETINGS, SPEC);
+        return cacheManager;
+    }
+
+    private GreetingCacheWarmer warmer(final TwoLevelCacheManager cacheManager) {
+        final GreetingCacheWarmer warmer = new GreetingCacheWarmer();
+        ReflectionTestUtils.setField(warmer, "greetingRepository", greetingRepository);
+        ReflectionTestUtils.setField(warmer, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(warmer, "enabled", true);
+        ReflectionTestUtils.setField(warmer, "size", 3);
+        ReflectionTestUtils.setField(warmer, "chunkSize", 2);
+        ReflectionTestUtils.setField(warmer, "threads", 2);
+        ReflectionTestUtils.setField(warmer, "timeoutSeconds", 10L);
+        ReflectionTestUtils.setField(warmer, "snapshot", directory.resolve("greetings-hottest.txt").toString());
+        return warmer;
+    }
+
+    private static Greeting greeting(final Long id) {
+        final Greeting greeting = new Greeting("Hello World! " + id);
+        greeting.setId(id);
+        return greeting;
+    }
+
+    /**
+     * Waits up to ten seconds for the background warm-up to finish.
+     *
+     * @param warmer A GreetingCacheWarmer.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static void awaitComplete(final GreetingCacheWarmer warmer) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!warmer.isComplete() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertTrue("failure - expected warm-up complete", warmer.isComplete());
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.infotech.app.cache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Unit tests for the TwoLevelCache. Two nodes are simulated by two TwoLevelCacheManagers sharing a
+ * FileSystemSharedCache directory.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class TwoLevelCacheTest extends AbstractTest {
+
+    private static final String CACHE = "greetings";
+
+    private static final String SPEC = "maximumSize=100";
+
+    private Path directory;
+
+    private FileSystemSharedCache sharedA;
+
+    private FileSystemSharedCache sharedB;
+
+    private Cache nodeA;
+
+    private Cache nodeB;
+
+    @Override
+    public void doBeforeEachTest() {
+        try {
+            directory = Files.createTempDirectory("two-level-cache");
+            // poll manually rather than on the background thread
+            sharedA = new FileSystemSharedCache(directory, 3600000L, 1048576L);
+            sharedB = new FileSystemSharedCache(directory, 3600000L, 1048576L);
+            sharedA.start();
+            sharedB.start();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        nodeA = cache(sharedA);
+        nodeB = cache(sharedB);
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        sharedA.stop();
+        sharedB.stop();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Test
+    public void testReadThroughSharedCache() {
+
+        nodeA.put(1L, "Hello World!");
+
+        Assert.assertEquals("failure - expected shared value", "Hello World!", nodeB.get(1L, String.class));
+        Assert.assertNotNull("failure - expected value copied to L1",
+                ((TwoLevelCache) nodeB).getNativeCache().getIfPresent(1L));
+
+    }
+
+    @Test
+    public void testPutInvalidatesOtherNodes() {
+
+        nodeA.put(1L, "Hello World!");
+        Assert.assertEquals("failure - expected shared value", "Hello World!", nodeB.get(1L, String.class));
+
+        nodeA.put(1L, "Hola Mundo!");
+        Assert.assertEquals("failure - expected stale L1 value before poll", "Hello World!",
+                nodeB.get(1L, String.class));
+
+        sharedB.poll();
+
+        Assert.assertEquals("failure - expected updated value", "Hola Mundo!", nodeB.get(1L, String.class));
+
+    }
+
+    @Test
+    public void testEvictAndClearInvalidateOtherNodes() {
+
+        nodeA.put(1L, "Hello World!");
+        nodeA.put(2L, "Hola Mundo!");
+        nodeB.get(1L);
+        nodeB.get(2L);
+
+        nodeA.evict(1L);
+        sharedB.poll();
+
+        Assert.assertNull("failure - expected evicted entry", nodeB.get(1L));
+        Assert.assertNotNull("failure - expected remaining entry", nodeB.get(2L));
+
+        nodeA.clear();
+        sharedB.poll();
+
+        Assert.assertNull("failure - expected cleared entry", nodeB.get(2L));
+
+    }
+
+    @Test
+    public void testPutIfAbsentDoesNotInvalidate() {
+
+        nodeB.put(1L, "Hello World!");
+        sharedA.poll();
+
+        nodeA.putIfAbsent(2L, "Hola Mundo!");
+        sharedB.poll();
+
+        Assert.assertNotNull("failure - expected L1 entry kept",
+                ((TwoLevelCache) nodeB).getNativeCache().getIfPresent(1L));
+        Assert.assertEquals("failure - expected shared value", "Hola Mundo!", nodeB.get(2L, String.class));
+
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+
+        final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(new NoOpSharedCache());
+        cacheManager.addCache(CACHE, SPEC);
+        final TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache(CACHE);
+
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<String> miss = () -> cache.get(1L, () -> {
+            invocations.incrementAndGet();
+            entered.countDown();
+            release.await();
+            return "Hello World!";
+        });
+
+        // The first miss starts the load; the others arrive while it is in flight and block on it
+        final List<FutureTask<String>> results = new ArrayList<FutureTask<String>>();
+        final List<Thread> waiters = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            final FutureTask<String> result = new FutureTask<String>(miss);
+            final Thread thread = new Thread(result, "two-level-cache-test-" + i);
+            results.add(result);
+            thread.start();
+            if (i == 0) {
+                Assert.assertTrue("failure - expected load started", entered.await(10, TimeUnit.SECONDS));
+            } else {
+                waiters.add(thread);
+            }
+        }
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!allBlocked(waiters) && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assert.assertTrue("failure - expected misses waiting on the load", allBlocked(waiters));
+
+        release.countDown();
+        for (final FutureTask<String> result : results) {
+            Assert.assertEquals("failure - expected loaded value", "Hello World!", result.get(10, TimeUnit.SECONDS));
+        }
+
+        Assert.assertEquals("failure - expected a single load", 1, invocations.get());
+        Assert.assertEquals("failure - expected a single counted load", 1L, cache.getLoads());
+        Assert.assertEquals("failure - expected 7 coalesced loads", 7L, cache.getCoalescedLoads());
+
+        Assert.assertEquals("failure - expected L1 hit", "Hello World!", cache.get(1L, () -> "Hola Mundo!"));
+        Assert.assertEquals("failure - expected L1 hit not coalesced", 7L, cache.getCoalescedLoads());
+
+    }
+
+    @Test
+    public void testRefreshAfterWrite() {
+
+        // Refreshes are queued until the test runs them
+        final AtomicLong nanos = new AtomicLong();
+        final Queue<Runnable> refreshes = new ConcurrentLinkedQueue<Runnable>();
+        final AtomicInteger version = new AtomicInteger();
+        final TwoLevelCacheManager cacheManager =
+                new TwoLevelCacheManager(new NoOpSharedCache(), nanos::get, refreshes::add);
+        cacheManager.addCache(CACHE, "maximumSize=100,refreshAfterWrite=1s", null,
+                key -> "Hello World! " + version.incrementAndGet());
+        final TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache(CACHE);
+
+        cache.put(1L, "Hello World! 0");
+        Assert.assertEquals("failure - expected value not yet refreshed", "Hello World! 0",
+                cache.get(1L, String.class));
+        runAll(refreshes);
+        Assert.assertEquals("failure - expected no refresh", 0L, cache.getRefreshes());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1) + 1L);
+
+        Assert.assertEquals("failure - expected current value while refreshing", "Hello World! 0",
+                cache.get(1L, String.class));
+        Assert.assertEquals("failure - expected refresh not yet run", 0L, cache.getRefreshes());
+
+        runAll(refreshes);
+
+        Assert.assertEquals("failure - expected refreshed value", "Hello World! 1", cache.get(1L, String.class));
+        Assert.assertEquals("failure - expected a refresh", 1L, cache.getRefreshes());
+
+    }
+
+    @Test
+    public void testMissingKeysAreCachedNegatively() {
+
+        final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(new NoOpSharedCache());
+        cacheManager.addCache(CACHE, SPEC, "maximumSize=100,expireAfterWrite=30s", null);
+        final TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache(CACHE);
+
+        final AtomicInteger invocations = new AtomicInteger();
+        Assert.assertNull("failure - expected null", cache.get(5L, () -> {
+            invocations.incrementAndGet();
+            return null;
+        }));
+        Assert.assertNull("failure - expected null", cache.get(5L, () -> {
+            invocations.incrementAndGet();
+            return null;
+        }));
+
+        Assert.assertEquals("failure - expected a single load", 1, invocations.get());
+        Assert.assertEquals("failure - expected a negative hit", 1L, cache.getNegativeHits());
+        Assert.assertEquals("failure - expected no null value in L1", 0L, cache.getNativeCache().estimatedSize());
+
+        cache.put(5L, "Hello World!");
+
+        Assert.assertEquals("failure - expected created value", "Hello World!", cache.get(5L, () -> null));
+
+    }
+
+    private static void runAll(final Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static boolean allBlocked(final List<Thread> threads) {
+        for (final Thread thread : threads) {
+            if (thread.getState() != Thread.State.BLOCKED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Cache cache(final SharedCache shared) {
+        final TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(shared);
+        cacheManager.addCache(CACHE, SPEC);
+        return cacheManager.getCache(CACHE);
+    }
+
+}
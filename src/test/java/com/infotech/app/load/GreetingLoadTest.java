@@ -0,0 +1,310 @@
+package com.infotech.app.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.infotech.app.model.Greeting;
+
+/**
+ * <p>
+ * End-to-end load test for the Greeting web services. The application is started on a random port with the
+ * <code>hsqldb</code> profile and driven over HTTP, through the full filter chain and HTTP Basic authentication, with a
+ * read-heavy mix of requests: fetch one, fetch a page, create, update, delete and send.
+ * </p>
+ * <p>
+ * The test reports request count, throughput, and p50/p99/p999 latency per endpoint and fails if any endpoint exceeds
+ * its latency budget, falls below the throughput budget, or returns a server error. The workload and budgets are read
+ * from system properties:
+ * </p>
+ * <ul>
+ * <li><code>load.threads</code> - concurrent clients (default 8)</li>
+ * <li><code>load.requests</code> - measured requests (default 5000)</li>
+ * <li><code>load.warmup</code> - unmeasured warm-up requests (default 500)</li>
+ * <li><code>load.budget.p99millis</code> - p99 latency budget per endpoint (default 250)</li>
+ * <li><code>load.budget.p999millis</code> - p999 latency budget per endpoint (default 1000)</li>
+ * <li><code>load.budget.throughput</code> - minimum overall requests per second (default 0)</li>
+ * </ul>
+ * <p>
+ * Load tests are excluded from the default test run. Run them with <code>mvn -Pload test</code> or
+ * <code>./gradlew loadTest</code>.
+ * </p>
+ *
+ * @author MohammadReza Alagheband
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        properties = { "spring.profiles.active=hsqldb", "cache.greetings.warmup.enabled=false",
+                "logging.level.com.infotech.app=WARN", "logging.level.com.infotech.app.load=INFO" })
+public class GreetingLoadTest extends AbstractTest {
+
+    /**
+     * The Logger for this Class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(GreetingLoadTest.class);
+
+    private static final String USERNAME = "user";
+
+    private static final String PASSWORD = "password";
+
+    private static final String GET = "GET /api/greetings/{id}";
+
+    private static final String LIST = "GET /api/greetings?limit";
+
+    private static final String CREATE = "POST /api/greetings";
+
+    private static final String UPDATE = "PUT /api/greetings/{id}";
+
+    private static final String DELETE = "DELETE /api/greetings/{id}";
+
+    private static final String SEND = "POST /api/greetings/{id}/send";
+
+    /**
+     * The endpoints in the request mix.
+     */
+    private static final String[] ENDPOINTS = { GET, LIST, CREATE, UPDATE, DELETE, SEND };
+
+    /**
+     * The cumulative percentage of requests sent to each endpoint in <code>ENDPOINTS</code>.
+     */
+    private static final int[] MIX = { 70, 80, 88, 93, 97, 100 };
+
+    /**
+     * The ids of the Greetings seeded by Liquibase.
+     */
+    private static final List<Long> SEEDED_IDS = Arrays.asList(Long.valueOf(1), Long.valueOf(2));
+
+    private final int threads = Integer.getInteger("load.threads", 8);
+
+    private final int requests = Integer.getInteger("load.requests", 5000);
+
+    private final int warmup = Integer.getInteger("load.warmup", 500);
+
+    private final long p99BudgetMillis = Long.getLong("load.budget.p99millis", 250L);
+
+    private final long p999BudgetMillis = Long.getLong("load.budget.p999millis", 1000L);
+
+    private final double throughputBudget = Double.parseDouble(System.getProperty("load.budget.throughput", "0"));
+
+    /**
+     * An HTTP client for the embedded server on its random port.
+     */
+    @Autowired
+    private transient TestRestTemplate restTemplate;
+
+    /**
+     * The ids of Greetings created by the test and not yet deleted.
+     */
+    private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<Long>();
+
+    /**
+     * The latencies in nanoseconds recorded for each endpoint.
+     */
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<String, List<Long>>();
+
+    /**
+     * The number of responses with a 5xx status or which failed to complete.
+     */
+    private final AtomicLong errors = new AtomicLong();
+
+    @Override
+    public void doBeforeEachTest() {
+        for (final String endpoint : ENDPOINTS) {
+            latencies.put(endpoint, Collections.synchronizedList(new ArrayList<Long>()));
+        }
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testGreetingWorkload() throws Exception {
+
+        run(warmup, false);
+
+        final long startedAt = System.nanoTime();
+        run(requests, true);
+        final double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        final List<String> failures = new ArrayList<String>();
+        final Map<String, String> report = new TreeMap<String, String>();
+        for (final String endpoint : ENDPOINTS) {
+            final long[] sorted = sorted(latencies.get(endpoint));
+            if (sorted.length == 0) {
+                continue;
+            }
+            final double p50 = percentileMillis(sorted, 0.50);
+            final double p99 = percentileMillis(sorted, 0.99);
+            final double p999 = percentileMillis(sorted, 0.999);
+            report.put(endpoint, String.format("count=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p999=%.2fms",
+                    sorted.length, sorted.length / elapsedSeconds, p50, p99, p999));
+            if (p99 > p99BudgetMillis) {
+                failures.add(String.format("%s p99 %.2fms exceeds %dms", endpoint, p99, p99BudgetMillis));
+            }
+            if (p999 > p999BudgetMillis) {
+                failures.add(String.format("%s p999 %.2fms exceeds %dms", endpoint, p999, p999BudgetMillis));
+            }
+        }
+        final double throughput = requests / elapsedSeconds;
+        if (throughput < throughputBudget) {
+            failures.add(String.format("throughput %.1f/s below %.1f/s", throughput, throughputBudget));
+        }
+
+        for (final Map.Entry<String, String> entry : report.entrySet()) {
+            logger.info("load {} {}", entry.getKey(), entry.getValue());
+        }
+        logger.info("load total requests={} threads={} elapsed={}s throughput={}/s errors={}", requests, threads,
+                String.format("%.2f", elapsedSeconds), String.format("%.1f", throughput), errors.get());
+
+        Assert.assertEquals("failure - expected no server errors", 0, errors.get());
+        Assert.assertTrue("failure - budget exceeded: " + failures, failures.isEmpty());
+
+    }
+
+    /**
+     * Send requests from <code>load.threads</code> concurrent clients.
+     *
+     * @param count The total number of requests.
+     * @param record Whether to record latencies and errors.
+     * @throws Exception if a client fails.
+     */
+    private void run(final int count, final boolean record) throws Exception {
+        final ExecutorService clients = Executors.newFixedThreadPool(threads);
+        try {
+            final AtomicLong remaining = new AtomicLong(count);
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(clients.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        request(record);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Send one request to an endpoint chosen according to the request mix.
+     *
+     * @param record Whether to record the latency and any error.
+     */
+    private void request(final boolean record) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int draw = random.nextInt(100);
+        int choice = 0;
+        while (draw >= MIX[choice]) {
+            choice++;
+        }
+        final String endpoint = ENDPOINTS[choice];
+
+        final TestRestTemplate client = restTemplate.withBasicAuth(USERNAME, PASSWORD);
+        final long startedAt = System.nanoTime();
+        ResponseEntity<?> response;
+        try {
+            response = exchange(client, endpoint, random);
+        } catch (RuntimeException ex) {
+            logger.error("load request failed: {}", endpoint, ex);
+            response = null;
+        }
+        final long latency = System.nanoTime() - startedAt;
+
+        if (record) {
+            latencies.get(endpoint).add(latency);
+            if (response == null || response.getStatusCode().is5xxServerError()) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    private ResponseEntity<?> exchange(final TestRestTemplate client, final String endpoint,
+            final ThreadLocalRandom random) {
+        switch (endpoint) {
+        case LIST:
+            return client.getForEntity("/api/greetings?limit=50", Greeting[].class);
+        case CREATE:
+            final ResponseEntity<Greeting> created = client.postForEntity("/api/greetings",
+                    new Greeting("Hello Load " + random.nextInt()), Greeting.class);
+            if (created.getBody() != null && created.getBody().getId() != null) {
+                createdIds.add(created.getBody().getId());
+            }
+            return created;
+        case UPDATE:
+            return client.exchange("/api/greetings/{id}", HttpMethod.PUT,
+                    new HttpEntity<Greeting>(new Greeting("Hello Again " + random.nextInt())), Greeting.class,
+                    anyId(random));
+        case DELETE:
+            final Long deleteId = createdIds.pollFirst();
+            if (deleteId == null) {
+                return client.getForEntity("/api/greetings/{id}", Greeting.class, anyId(random));
+            }
+            return client.exchange("/api/greetings/{id}", HttpMethod.DELETE, null, Void.class, deleteId);
+        case SEND:
+            return client.postForEntity("/api/greetings/{id}/send", null, Greeting.class, anyId(random));
+        default:
+            return client.getForEntity("/api/greetings/{id}", Greeting.class, anyId(random));
+        }
+    }
+
+    /**
+     * Returns the id of a seeded Greeting or of a recently created one.
+     *
+     * @param random A source of randomness.
+     * @return A Greeting id.
+     */
+    private Long anyId(final ThreadLocalRandom random) {
+        final Long createdId = random.nextBoolean() ? createdIds.peekLast() : null;
+        return createdId == null ? SEEDED_IDS.get(random.nextInt(SEEDED_IDS.size())) : createdId;
+    }
+
+    private static long[] sorted(final List<Long> values) {
+        final long[] sorted;
+        synchronized (values) {
+            sorted = new long[values.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = values.get(i);
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static double percentileMillis(final long[] sorted, final double percentile) {
+        final int index = Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[index] / 1e6;
+    }
+
+}
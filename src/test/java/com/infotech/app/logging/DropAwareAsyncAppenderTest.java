@@ -0,0 +1,216 @@
+package com.infotech.app.logging;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.infotech.app.AbstractTest;
+import net.logstash.logback.appender.LogstashTcpSocketAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+
+/**
+ * Unit tests for the DropAwareAsyncAppender. Logstash is replaced by a local TCP socket or by an appender which stalls
+ * until released, standing in for an unresponsive Logstash.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class DropAwareAsyncAppenderTest extends AbstractTest {
+
+    private LoggerContext loggerContext;
+
+    @Override
+    public void doBeforeEachTest() {
+        loggerContext = new LoggerContext();
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        loggerContext.stop();
+    }
+
+    @Test
+    public void testShipsEventsToLogstash() throws Exception {
+
+        try (ServerSocket logstash = new ServerSocket(0)) {
+            final LogstashEncoder encoder = new LogstashEncoder();
+            encoder.setContext(loggerContext);
+            encoder.start();
+
+            final LogstashTcpSocketAppender stash = new LogstashTcpSocketAppender();
+            stash.setContext(loggerContext);
+            stash.setName("stash");
+            stash.addDestination("localhost:" + logstash.getLocalPort());
+            stash.setEncoder(encoder);
+            stash.start();
+
+            final DropAwareAsyncAppender appender = asyncAppender(stash, 256, 0);
+            logger(appender).info("shipped to logstash");
+
+            logstash.setSoTimeout(10000);
+            try (Socket connection = logstash.accept();
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                connection.setSoTimeout(10000);
+                final String line = reader.readLine();
+
+                Assert.assertNotNull("failure - expected an event", line);
+                Assert.assertTrue("failure - expected event message", line.contains("shipped to logstash"));
+            }
+
+            Assert.assertEquals("failure - expected no dropped events", 0, appender.getDroppedCount());
+        }
+
+    }
+
+    @Test
+    public void testDropsInsteadOfBlocking() throws Exception {
+
+        final StalledAppender stalled = new StalledAppender();
+        final DropAwareAsyncAppender appender = asyncAppender(stalled, 16, 8);
+        final Logger logger = logger(appender);
+
+        // The worker takes the first event and stalls; the rest fill the queue
+        logger.info("first");
+        Assert.assertTrue("failure - expected worker to stall", stalled.entered.await(10, TimeUnit.SECONDS));
+
+        final long startedAt = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            logger.info("info {}", i);
+        }
+        for (int i = 0; i < 100; i++) {
+            logger.warn("warn {}", i);
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        Assert.assertTrue("failure - expected logging not to block", elapsedMillis < 5000);
+        Assert.assertEquals("failure - expected 201 appended events", 201, appender.getAppendedCount());
+        // 9 INFO events fill the queue to the threshold of 8 free slots, 7 WARN events fill the rest
+        Assert.assertEquals("failure - expected INFO events discarded below threshold", 91,
+                appender.getDiscardedCount());
+        Assert.assertEquals("failure - expected WARN events overflowed once full", 93, appender.getOverflowCount());
+        Assert.assertEquals("failure - expected queue full", 16, appender.getNumberOfElementsInQueue());
+
+        stalled.release.countDown();
+        appender.stop();
+
+        Assert.assertEquals("failure - expected every kept event delivered", 17, stalled.delivered.get());
+
+    }
+
+    @Test
+    public void testCountsDropsExactlyWithConcurrentProducers() throws Exception {
+
+        final StalledAppender stalled = new StalledAppender();
+        final DropAwareAsyncAppender appender = asyncAppender(stalled, 64, 16);
+        final Logger logger = logger(appender);
+
+        logger.warn("first");
+        Assert.assertTrue("failure - expected worker to stall", stalled.entered.await(10, TimeUnit.SECONDS));
+
+        // Producers race each other for the last free slots, as application threads do
+        final int producers = 8;
+        final int eventsPerLevel = 500;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < eventsPerLevel; i++) {
+                    logger.info("info {}", i);
+                    logger.warn("warn {}", i);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue("failure - expected producers to finish", executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        final long appended = 1L + producers * eventsPerLevel * 2L;
+        Assert.assertEquals("failure - expected every event appended", appended, appender.getAppendedCount());
+        Assert.assertEquals("failure - expected queue full", 64, appender.getNumberOfElementsInQueue());
+        Assert.assertEquals("failure - expected every event but the kept ones dropped", appended - 1 - 64,
+                appender.getDroppedCount());
+
+        stalled.release.countDown();
+        appender.stop();
+
+        // The drop count must match the events which never reached the attached appender
+        Assert.assertEquals("failure - expected kept events delivered", 65, stalled.delivered.get());
+        Assert.assertEquals("failure - expected delivered count", 65, appender.getDeliveredCount());
+        Assert.assertEquals("failure - expected dropped events never delivered", appended - stalled.delivered.get(),
+                appender.getDroppedCount());
+
+    }
+
+    private DropAwareAsyncAppender asyncAppender(final Appender<ILoggingEvent> delegate, final int queueSize,
+            final int discardingThreshold) {
+        final DropAwareAsyncAppender appender = new DropAwareAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setName("asyncStash");
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setMaxFlushTime(10000);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(final DropAwareAsyncAppender appender) {
+        final Logger logger = loggerContext.getLogger(DropAwareAsyncAppenderTest.class);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    /**
+     * An appender which blocks on its first event until released, simulating an unresponsive Logstash.
+     */
+    private static class StalledAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final AtomicInteger delivered = new AtomicInteger();
+
+        StalledAppender() {
+            super();
+            start();
+        }
+
+        @Override
+        protected void append(final ILoggingEvent eventObject) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.incrementAndGet();
+        }
+
+    }
+
+}
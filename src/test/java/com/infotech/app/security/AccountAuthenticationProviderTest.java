@@ -0,0 +1,137 @@
+package com.infotech.app.security;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infotech.app.AbstractTest;
+import com.infotech.app.service.AccountChangedEvent;
+
+/**
+ * Unit tests for the AccountAuthenticationProvider and the AuthenticationCache of verified credentials.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class AccountAuthenticationProviderTest extends AbstractTest {
+
+    private static final String USER = "user";
+
+    private static final String PASSWORD = "password";
+
+    private transient PasswordEncoder passwordEncoder;
+
+    private transient AccountUserDetailsService userDetailsService;
+
+    private transient AuthenticationCache authenticationCache;
+
+    private transient AccountAuthenticationProvider provider;
+
+    private transient String encodedPassword;
+
+    @Override
+    public void doBeforeEachTest() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+        userDetailsService = mock(AccountUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(USER)).thenAnswer(invocation -> user(encodedPassword));
+
+        authenticationCache = new AuthenticationCache();
+        ReflectionTestUtils.setField(authenticationCache, "spec", "maximumSize=100,expireAfterWrite=300s");
+        authenticationCache.init();
+
+        provider = new AccountAuthenticationProvider();
+        ReflectionTestUtils.setField(provider, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(provider, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(provider, "authenticationCache", authenticationCache);
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testCachedCredentialsSkipPasswordEncoder() {
+
+        Assert.assertTrue("failure - expected authenticated", authenticate(PASSWORD).isAuthenticated());
+        Assert.assertTrue("failure - expected authenticated", authenticate(PASSWORD).isAuthenticated());
+
+        verify(passwordEncoder, times(1)).matches(any(CharSequence.class), anyString());
+
+    }
+
+    @Test
+    public void testWrongPasswordForCachedUser() {
+
+        authenticate(PASSWORD);
+
+        Exception exception = null;
+        try {
+            authenticate("wrong");
+        } catch (BadCredentialsException bce) {
+            exception = bce;
+        }
+
+        Assert.assertNotNull("failure - expected BadCredentialsException", exception);
+        verify(passwordEncoder, times(2)).matches(any(CharSequence.class), anyString());
+
+    }
+
+    @Test
+    public void testChangedEncodedPasswordIsVerifiedAgain() {
+
+        authenticate(PASSWORD);
+
+        encodedPassword = passwordEncoder.encode("changed");
+
+        Exception exception = null;
+        try {
+            authenticate(PASSWORD);
+        } catch (BadCredentialsException bce) {
+            exception = bce;
+        }
+
+        Assert.assertNotNull("failure - expected BadCredentialsException", exception);
+        verify(passwordEncoder, times(2)).matches(any(CharSequence.class), anyString());
+
+    }
+
+    @Test
+    public void testAccountChangedEventEvictsCredentials() {
+
+        authenticate(PASSWORD);
+        Assert.assertEquals("failure - expected 1 cached credential", 1L, authenticationCache.size());
+
+        authenticationCache.onAccountChanged(new AccountChangedEvent(this, USER));
+        authenticate(PASSWORD);
+
+        verify(passwordEncoder, times(2)).matches(any(CharSequence.class), anyString());
+
+    }
+
+    private Authentication authenticate(final String password) {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken(USER, password));
+    }
+
+    private static User user(final String encodedPassword) {
+        return new User(USER, encodedPassword, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+}
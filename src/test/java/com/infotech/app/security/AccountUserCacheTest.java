@@ -0,0 +1,124 @@
+package com.infotech.app.security;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infotech.app.AbstractTest;
+import com.infotech.app.service.AccountChangedEvent;
+
+/**
+ * Unit tests for the AccountUserCache.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class AccountUserCacheTest extends AbstractTest {
+
+    private static final String USER = "user";
+
+    private static final String PASSWORD = "password";
+
+    private transient AccountUserCache userCache;
+
+    @Override
+    public void doBeforeEachTest() {
+        userCache = new AccountUserCache();
+        ReflectionTestUtils.setField(userCache, "spec", "maximumSize=100,expireAfterWrite=300s");
+        userCache.init();
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testHit() {
+
+        userCache.putUserInCache(user("encoded"));
+
+        final UserDetails cachedUser = userCache.getUserFromCache(USER);
+
+        Assert.assertNotNull("failure - expected cache hit", cachedUser);
+        Assert.assertEquals("failure - expected password match", "encoded", cachedUser.getPassword());
+        Assert.assertNull("failure - expected cache miss", userCache.getUserFromCache("other"));
+
+    }
+
+    @Test
+    public void testAccountChangedEventEvictsUser() {
+
+        userCache.putUserInCache(user("encoded"));
+
+        userCache.onAccountChanged(new AccountChangedEvent(this, USER));
+
+        Assert.assertNull("failure - expected user evicted", userCache.getUserFromCache(USER));
+
+    }
+
+    @Test
+    public void testCredentialsSurviveErasure() {
+
+        final User user = user("encoded");
+        userCache.putUserInCache(user);
+        user.eraseCredentials();
+
+        final User cachedUser = (User) userCache.getUserFromCache(USER);
+        cachedUser.eraseCredentials();
+
+        Assert.assertEquals("failure - expected cached password retained", "encoded",
+                userCache.getUserFromCache(USER).getPassword());
+
+    }
+
+    @Test
+    public void testCachedUserAuthenticatesAfterErasure() {
+
+        final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        final String encodedPassword = passwordEncoder.encode(PASSWORD);
+        final AccountUserDetailsService userDetailsService = mock(AccountUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(USER)).thenAnswer(invocation -> user(encodedPassword));
+        final AuthenticationCache authenticationCache = new AuthenticationCache();
+        ReflectionTestUtils.setField(authenticationCache, "spec", "maximumSize=100");
+        authenticationCache.init();
+
+        final AccountAuthenticationProvider provider = new AccountAuthenticationProvider();
+        ReflectionTestUtils.setField(provider, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(provider, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(provider, "authenticationCache", authenticationCache);
+        provider.setUserCache(userCache);
+
+        // The ProviderManager erases credentials after each authentication by default
+        final ProviderManager authenticationManager = new ProviderManager(Collections.singletonList(provider));
+
+        for (int i = 0; i < 2; i++) {
+            final Authentication authentication = authenticationManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(USER, PASSWORD));
+            Assert.assertTrue("failure - expected authenticated", authentication.isAuthenticated());
+            Assert.assertNull("failure - expected principal credentials erased",
+                    ((User) authentication.getPrincipal()).getPassword());
+        }
+
+        verify(userDetailsService, times(1)).loadUserByUsername(USER);
+
+    }
+
+    private static User user(final String encodedPassword) {
+        return new User(USER, encodedPassword, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.infotech.app.service;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infotech.app.AbstractTest;
+import com.infotech.app.model.Greeting;
+
+/**
+ * Unit test methods for the EmailDispatchService and EmailDispatchServiceBean using a stub EmailTransport.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class EmailDispatchServiceTest extends AbstractTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    private static final long LINGER_MILLIS = 100;
+
+    private static final int CAPACITY = 100;
+
+    private transient StubEmailTransport transport;
+
+    private transient EmailDispatchServiceBean emailDispatchService;
+
+    @Override
+    public void doBeforeEachTest() {
+        transport = new StubEmailTransport();
+        emailDispatchService = startService(CAPACITY);
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        transport.open();
+        try {
+            emailDispatchService.stop();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testDispatchInBatches() throws Exception {
+
+        // Hold the dispatcher in the transport so that every later Greeting is queued before a batch is collected
+        transport.close();
+        emailDispatchService.dispatch(getEntityStubData(100L));
+        Assert.assertTrue("failure - expected dispatcher in transport", transport.awaitEntered());
+
+        for (long id = 1; id <= 25; id++) {
+            emailDispatchService.dispatch(getEntityStubData(id));
+        }
+        transport.open();
+        emailDispatchService.stop();
+
+        Assert.assertEquals("failure - expected 26 greetings sent", 26, transport.sent.size());
+        Assert.assertEquals("failure - expected 4 batches", 4, transport.batches.size());
+        Assert.assertEquals("failure - expected full second batch", BATCH_SIZE, transport.batches.get(1).size());
+        Assert.assertEquals("failure - expected full third batch", BATCH_SIZE, transport.batches.get(2).size());
+        Assert.assertEquals("failure - expected remainder in last batch", 5, transport.batches.get(3).size());
+
+    }
+
+    @Test
+    public void testDispatchCoalescesDuplicates() throws Exception {
+
+        transport.close();
+        emailDispatchService.dispatch(getEntityStubData(100L));
+        Assert.assertTrue("failure - expected dispatcher in transport", transport.awaitEntered());
+
+        for (int i = 0; i < 5; i++) {
+            emailDispatchService.dispatch(getEntityStubData(1L));
+            emailDispatchService.dispatch(getEntityStubData(2L));
+        }
+        transport.open();
+        emailDispatchService.stop();
+
+        Assert.assertEquals("failure - expected 3 greetings sent", 3, transport.sent.size());
+
+    }
+
+    @Test
+    public void testDispatchRejectedWhenFullKeepsCoalescedSends() throws Exception {
+
+        emailDispatchService.stop();
+        emailDispatchService = startService(2);
+
+        transport.close();
+        emailDispatchService.dispatch(getEntityStubData(100L));
+        Assert.assertTrue("failure - expected dispatcher in transport", transport.awaitEntered());
+
+        emailDispatchService.dispatch(getEntityStubData(1L));
+        emailDispatchService.dispatch(getEntityStubData(2L));
+
+        Exception exception = null;
+        try {
+            emailDispatchService.dispatch(getEntityStubData(3L));
+        } catch (RejectedExecutionException ree) {
+            exception = ree;
+        }
+        Assert.assertNotNull("failure - expected RejectedExecutionException", exception);
+
+        final Greeting coalesced = getEntityStubData(1L);
+        emailDispatchService.dispatch(coalesced);
+
+        transport.open();
+        emailDispatchService.stop();
+
+        Assert.assertEquals("failure - expected 3 greetings sent", 3, transport.sent.size());
+        Assert.assertTrue("failure - expected coalesced greeting sent",
+                transport.sent.stream().anyMatch(greeting -> greeting == coalesced));
+
+    }
+
+    @Test
+    public void testAcceptedSendsAreNeverLost() throws Exception {
+
+        emailDispatchService.stop();
+        emailDispatchService = startService(4);
+
+        final int producers = 8;
+        final Set<Long> acceptedIds = ConcurrentHashMap.newKeySet();
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int p = 0; p < producers; p++) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    for (int i = 0; i < 500; i++) {
+                        final long id = ThreadLocalRandom.current().nextLong(1, 17);
+                        try {
+                            emailDispatchService.dispatch(getEntityStubData(id));
+                            acceptedIds.add(id);
+                        } catch (RejectedExecutionException ree) {
+                            // the queue was full; this send was refused
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        emailDispatchService.stop();
+
+        final Set<Long> sentIds = new HashSet<Long>();
+        for (final Greeting greeting : transport.sent) {
+            sentIds.add(greeting.getId());
+        }
+        Assert.assertTrue("failure - expected every accepted send delivered", sentIds.containsAll(acceptedIds));
+
+    }
+
+    private EmailDispatchServiceBean startService(final int capacity) {
+        final EmailDispatchServiceBean service = new EmailDispatchServiceBean();
+        ReflectionTestUtils.setField(service, "counterService", mock(CounterService.class));
+        ReflectionTestUtils.setField(service, "emailTransport", transport);
+        ReflectionTestUtils.setField(service, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(service, "lingerMillis", LINGER_MILLIS);
+        ReflectionTestUtils.setField(service, "capacity", capacity);
+        service.start();
+        return service;
+    }
+
+    private Greeting getEntityStubData(final Long id) {
+        final Greeting entity = new Greeting("hello");
+        entity.setId(id);
+        return entity;
+    }
+
+    /**
+     * An EmailTransport which records each batch it receives. The transport may be closed, holding the dispatcher in
+     * <code>send</code> until it is opened again.
+     */
+    private static class StubEmailTransport implements EmailTransport {
+
+        private final List<List<Greeting>> batches = new CopyOnWriteArrayList<List<Greeting>>();
+
+        private final List<Greeting> sent = new CopyOnWriteArrayList<Greeting>();
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        boolean awaitEntered() throws InterruptedException {
+            return entered.await(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public boolean send(final List<Greeting> greetings) {
+            batches.add(new ArrayList<Greeting>(greetings));
+            sent.addAll(greetings);
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+
+    }
+
+}
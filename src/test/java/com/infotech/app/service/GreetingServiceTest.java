@@ -1,16 +1,24 @@
 package com.infotech.app.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import javax.persistence.EntityExistsException;
+import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.PersistenceContext;
 
 import com.infotech.app.AbstractTest;
+import org.joda.time.DateTime;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,7 +30,7 @@ import com.infotech.app.model.Greeting;
  * @author MohammadReza Alagheband
  */
 @RunWith(SpringRunner.class)
-@SpringBootTest
+@SpringBootTest(properties = "cache.greetings.warmup.enabled=false")
 @Transactional
 public class GreetingServiceTest extends AbstractTest {
 
@@ -31,6 +39,9 @@ public class GreetingServiceTest extends AbstractTest {
     @Autowired
     private transient GreetingService greetingService;
 
+    @PersistenceContext
+    private transient EntityManager entityManager;
+
     @Override
     public void doBeforeEachTest() {
         greetingService.evictCache();
@@ -51,6 +62,106 @@ public class GreetingServiceTest extends AbstractTest {
 
     }
 
+    @Test
+    public void testGetGreetingsPage() {
+
+        final List<Greeting> firstPage = greetingService.findPage(null, 1);
+
+        Assert.assertEquals("failure - expected 1 greeting", 1, firstPage.size());
+
+        final Long lastId = firstPage.get(0).getId();
+        final List<Greeting> secondPage = greetingService.findPage(lastId, 10);
+
+        Assert.assertEquals("failure - expected 1 greeting", 1, secondPage.size());
+        Assert.assertTrue("failure - expected greeting.id after last id", secondPage.get(0).getId() > lastId);
+
+    }
+
+    @Test
+    public void testStreamGreetings() {
+
+        final List<Greeting> greetings = new ArrayList<Greeting>();
+
+        greetingService.streamAll(greetings::add);
+
+        Assert.assertEquals("failure - expected 2 greetings", 2, greetings.size());
+
+    }
+
+    @Test
+    public void testStreamGreetingsBeyondFetchSize() {
+
+        // More Greetings than the 500 rows fetched at a time by the streaming query
+        final List<Greeting> newGreetings = new ArrayList<Greeting>();
+        for (int i = 0; i < 1200; i++) {
+            newGreetings.add(new Greeting(VALUE_TEXT + i));
+        }
+        greetingService.createAll(newGreetings);
+        entityManager.clear();
+
+        final List<Greeting> greetings = new ArrayList<Greeting>();
+        greetingService.streamAll(greeting -> {
+            // Each Greeting is released once consumed, so the persistence context does not grow with the stream
+            if (!greetings.isEmpty()) {
+                Assert.assertFalse("failure - expected consumed greeting detached",
+                        entityManager.contains(greetings.get(greetings.size() - 1)));
+            }
+            greetings.add(greeting);
+        });
+
+        Assert.assertEquals("failure - expected 1202 greetings", 1202, greetings.size());
+        for (int i = 1; i < greetings.size(); i++) {
+            Assert.assertTrue("failure - expected ascending ids",
+                    greetings.get(i - 1).getId() < greetings.get(i).getId());
+        }
+
+    }
+
+    @Test
+    public void testGetGreetingsChangedSince() {
+
+        final List<Greeting> changed = greetingService.findChangedSince(new DateTime(0L), Long.valueOf(0), 10);
+
+        Assert.assertEquals("failure - expected 2 greetings", 2, changed.size());
+
+        final Greeting first = changed.get(0);
+        final List<Greeting> changedAfterFirst = greetingService.findChangedSince(first.getModifiedAt(), first.getId(),
+                10);
+
+        Assert.assertEquals("failure - expected 1 greeting", 1, changedAfterFirst.size());
+        Assert.assertEquals("failure - expected second greeting", changed.get(1).getId(),
+                changedAfterFirst.get(0).getId());
+
+    }
+
+    @Test
+    public void testGetGreetingsChangedSinceAfterUpdate() {
+
+        final Greeting greeting = greetingService.findOne(new Long(1));
+        greeting.setText(greeting.getText() + " test");
+        final Greeting updatedGreeting = greetingService.update(greeting);
+
+        Assert.assertNotNull("failure - expected modifiedAt not null", updatedGreeting.getModifiedAt());
+        Assert.assertEquals("failure - expected modifiedAt to match updatedAt", updatedGreeting.getUpdatedAt(),
+                updatedGreeting.getModifiedAt());
+
+        // The updated Greeting moves to the end of the modification order
+        final List<Greeting> changed = greetingService.findChangedSince(new DateTime(0L), Long.valueOf(0), 10);
+
+        Assert.assertEquals("failure - expected 2 greetings", 2, changed.size());
+        Assert.assertEquals("failure - expected updated greeting last", updatedGreeting.getId(),
+                changed.get(1).getId());
+
+        final Greeting first = changed.get(0);
+        final List<Greeting> changedAfterFirst = greetingService.findChangedSince(first.getModifiedAt(), first.getId(),
+                10);
+
+        Assert.assertEquals("failure - expected 1 greeting", 1, changedAfterFirst.size());
+        Assert.assertEquals("failure - expected updated greeting", updatedGreeting.getId(),
+                changedAfterFirst.get(0).getId());
+
+    }
+
     @Test
     public void testGetGreeting() {
 
@@ -74,6 +185,35 @@ public class GreetingServiceTest extends AbstractTest {
 
     }
 
+    @Test
+    public void testGetGreetingsById() {
+
+        final List<Greeting> greetings = greetingService
+                .findAllById(Arrays.asList(new Long(2), Long.MAX_VALUE, new Long(1), new Long(2)));
+
+        Assert.assertEquals("failure - expected 2 greetings", 2, greetings.size());
+        Assert.assertEquals("failure - expected requested order", new Long(2), greetings.get(0).getId());
+        Assert.assertEquals("failure - expected requested order", new Long(1), greetings.get(1).getId());
+
+    }
+
+    @Test
+    public void testGetGreetingByReferenceId() {
+
+        final Greeting greeting = greetingService.findOne(new Long(1));
+
+        final Greeting foundGreeting = greetingService.findByReferenceId(greeting.getReferenceId());
+
+        Assert.assertNotNull("failure - expected not null", foundGreeting);
+        Assert.assertEquals("failure - expected greeting.id match", greeting.getId(), foundGreeting.getId());
+
+        greetingService.delete(greeting.getId());
+
+        Assert.assertNull("failure - expected null after delete",
+                greetingService.findByReferenceId(greeting.getReferenceId()));
+
+    }
+
     @Test
     public void testCreateGreeting() {
 
@@ -151,6 +291,28 @@ public class GreetingServiceTest extends AbstractTest {
 
     }
 
+    @Test
+    public void testUpdateGreetingVersionConflict() {
+
+        Exception exception = null;
+
+        final Greeting greeting = new Greeting();
+        greeting.setId(new Long(1));
+        greeting.setVersion(Integer.MAX_VALUE);
+        greeting.setText("test");
+
+        try {
+            greetingService.update(greeting);
+        } catch (OptimisticLockingFailureException olfe) {
+            exception = olfe;
+        }
+
+        Assert.assertNotNull("failure - expected exception", exception);
+        Assert.assertTrue("failure - expected OptimisticLockingFailureException",
+                exception instanceof OptimisticLockingFailureException);
+
+    }
+
     @Test
     public void testDeleteGreeting() {
 
@@ -172,4 +334,66 @@ public class GreetingServiceTest extends AbstractTest {
 
     }
 
+    @Test
+    public void testCreateGreetings() {
+
+        final List<Greeting> greetings = new ArrayList<Greeting>();
+        for (int i = 0; i < 120; i++) {
+            final Greeting greeting = new Greeting();
+            greeting.setText(VALUE_TEXT + i);
+            greetings.add(greeting);
+        }
+
+        final List<Greeting> createdGreetings = greetingService.createAll(greetings);
+
+        Assert.assertEquals("failure - expected 120 created greetings", 120, createdGreetings.size());
+        for (int i = 0; i < createdGreetings.size(); i++) {
+            Assert.assertNotNull("failure - expected greeting.id not null", createdGreetings.get(i).getId());
+            Assert.assertEquals("failure - expected greeting.text match", VALUE_TEXT + i,
+                    createdGreetings.get(i).getText());
+        }
+
+        final Collection<Greeting> allGreetings = greetingService.findAll();
+
+        Assert.assertEquals("failure - expected 122 greetings", 122, allGreetings.size());
+
+    }
+
+    @Test
+    public void testUpdateGreetings() {
+
+        final Greeting greeting = new Greeting();
+        greeting.setId(new Long(1));
+        greeting.setText(VALUE_TEXT);
+
+        final Greeting missingGreeting = new Greeting();
+        missingGreeting.setId(Long.MAX_VALUE);
+        missingGreeting.setText(VALUE_TEXT);
+
+        final List<Greeting> updatedGreetings = greetingService.updateAll(Arrays.asList(greeting, missingGreeting));
+
+        Assert.assertEquals("failure - expected 2 results", 2, updatedGreetings.size());
+        Assert.assertEquals("failure - expected updated greeting text match", VALUE_TEXT,
+                updatedGreetings.get(0).getText());
+        Assert.assertNull("failure - expected null for missing greeting", updatedGreetings.get(1));
+        Assert.assertEquals("failure - expected cached greeting text match", VALUE_TEXT,
+                greetingService.findOne(new Long(1)).getText());
+
+    }
+
+    @Test
+    public void testDeleteGreetings() {
+
+        final Set<Long> deletedIds = greetingService.deleteAll(Arrays.asList(new Long(1), Long.MAX_VALUE));
+
+        Assert.assertEquals("failure - expected 1 deleted id", 1, deletedIds.size());
+        Assert.assertTrue("failure - expected id 1 deleted", deletedIds.contains(new Long(1)));
+        Assert.assertNull("failure - expected greeting to be deleted", greetingService.findOne(new Long(1)));
+
+        final Collection<Greeting> greetings = greetingService.findAll();
+
+        Assert.assertEquals("failure - expected 1 greeting", 1, greetings.size());
+
+    }
+
 }
@@ -0,0 +1,162 @@
+package com.infotech.app.util;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+/**
+ * Unit tests for the MonitoredTaskScheduler using a stub job.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class MonitoredTaskSchedulerTest extends AbstractTest {
+
+    /**
+     * The name under which the stub job's stats are recorded.
+     */
+    private static final String JOB_NAME = "StubJob.execute";
+
+    private MonitoredTaskScheduler scheduler;
+
+    @Override
+    public void doBeforeEachTest() {
+        scheduler = new MonitoredTaskScheduler();
+        scheduler.setThreadNamePrefix("test-batch-");
+        scheduler.initialize();
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testSlowJobDoesNotDelayOtherJobs() throws Exception {
+
+        final StubJob job = new StubJob(TimeUnit.SECONDS.toMillis(10));
+
+        // The slow job holds its thread until released; the other job must keep running meanwhile
+        final ScheduledFuture<?> slow = scheduler.scheduleWithFixedDelay(new ScheduledMethodRunnable(job, "execute"),
+                5L);
+        Assert.assertTrue("failure - expected slow job started", job.entered.await(5, TimeUnit.SECONDS));
+        final ScheduledFuture<?> fast = scheduler.scheduleWithFixedDelay(new ScheduledMethodRunnable(job, "tick"), 5L);
+
+        Assert.assertTrue("failure - expected other job run while the slow job runs",
+                job.ticks.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue("failure - expected slow job running", stats(JOB_NAME).isRunning());
+        Assert.assertEquals("failure - expected slow job unfinished", 0L, stats(JOB_NAME).getRuns());
+        Assert.assertEquals("failure - expected one thread per job", 2, scheduler.getPoolSize());
+        Assert.assertEquals("failure - expected slow job on its own thread", "test-batch-StubJob.execute-1",
+                job.executeThread);
+        Assert.assertEquals("failure - expected other job on its own thread", "test-batch-StubJob.tick-1",
+                job.tickThread);
+
+        job.release.countDown();
+        await(() -> stats(JOB_NAME).getRuns() > 0);
+        slow.cancel(false);
+        fast.cancel(false);
+
+        Assert.assertEquals("failure - expected 2 stats entries", 2, scheduler.getJobStats().size());
+        Assert.assertTrue("failure - expected slow job run recorded", stats(JOB_NAME).getRuns() > 0);
+        Assert.assertTrue("failure - expected other job runs recorded", stats("StubJob.tick").getRuns() >= 3);
+
+    }
+
+    @Test
+    public void testFixedRateBacklogRecordedAsMissed() throws Exception {
+
+        final long period = 50L;
+
+        // The first execution overruns by three periods; the backlog it leaves behind must not run back to back
+        final StubJob job = new StubJob(period * 3 + period / 2);
+        final ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(new ScheduledMethodRunnable(job, "execute"),
+                new Date(System.currentTimeMillis() - period * 10), period);
+
+        final ScheduledJobStats stats = stats(JOB_NAME);
+        await(() -> stats.getRuns() >= 2);
+        future.cancel(false);
+
+        // A start time in the past is not lag, so the first execution ran rather than being counted as missed
+        Assert.assertTrue("failure - expected at least 2 runs", stats.getRuns() >= 2);
+        Assert.assertTrue("failure - expected at least 2 missed fires", stats.getMissed() >= 2);
+        Assert.assertTrue("failure - expected first run duration recorded",
+                stats.getMaxDurationMillis() >= period * 3);
+        Assert.assertTrue("failure - expected lag of runs below one period", stats.getMaxLagMillis() < period);
+
+    }
+
+    private ScheduledJobStats stats(final String name) {
+        for (final ScheduledJobStats stats : scheduler.getJobStats()) {
+            if (name.equals(stats.getName())) {
+                return stats;
+            }
+        }
+        throw new AssertionError("failure - expected stats for " + name);
+    }
+
+    /**
+     * Waits up to five seconds for a condition to hold.
+     *
+     * @param condition A BooleanSupplier.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * A stub with two jobs. The first execution of <code>execute</code> runs until released or for a fixed time,
+     * whichever is sooner; <code>tick</code> returns at once.
+     */
+    private static class StubJob {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final CountDownLatch ticks = new CountDownLatch(3);
+
+        private volatile String executeThread;
+
+        private volatile String tickThread;
+
+        private final long firstRunMillis;
+
+        StubJob(final long firstRunMillis) {
+            this.firstRunMillis = firstRunMillis;
+        }
+
+        public void execute() {
+            final boolean firstRun = invocations.incrementAndGet() == 1;
+            executeThread = Thread.currentThread().getName();
+            entered.countDown();
+            if (firstRun) {
+                try {
+                    release.await(firstRunMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        public void tick() {
+            tickThread = Thread.currentThread().getName();
+            ticks.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.infotech.app.util;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ScheduledJobStats.
+ *
+ * @author MohammadReza Alagheband
+ */
+public class ScheduledJobStatsTest extends AbstractTest {
+
+    private ScheduledJobStats stats;
+
+    @Override
+    public void doBeforeEachTest() {
+        stats = new ScheduledJobStats("GreetingBatchBean.cronJob");
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testStartAndFinishTrackRunning() {
+
+        Assert.assertFalse("failure - expected not running", stats.isRunning());
+
+        stats.start();
+
+        Assert.assertTrue("failure - expected running", stats.isRunning());
+        Assert.assertEquals("failure - expected 0 runs", 0L, stats.getRuns());
+
+        stats.finish(0L, 10L);
+
+        Assert.assertFalse("failure - expected not running", stats.isRunning());
+        Assert.assertEquals("failure - expected 1 run", 1L, stats.getRuns());
+
+    }
+
+    @Test
+    public void testFinishRecordsLastAndMax() {
+
+        stats.start();
+        stats.finish(30L, 100L);
+        stats.start();
+        stats.finish(10L, 40L);
+        stats.recordMissed(3L);
+        stats.recordMissed(2L);
+
+        Assert.assertEquals("failure - expected 2 runs", 2L, stats.getRuns());
+        Assert.assertEquals("failure - expected last lag", 10L, stats.getLastLagMillis());
+        Assert.assertEquals("failure - expected max lag", 30L, stats.getMaxLagMillis());
+        Assert.assertEquals("failure - expected last duration", 40L, stats.getLastDurationMillis());
+        Assert.assertEquals("failure - expected max duration", 100L, stats.getMaxDurationMillis());
+        Assert.assertEquals("failure - expected 5 missed", 5L, stats.getMissed());
+
+    }
+
+}
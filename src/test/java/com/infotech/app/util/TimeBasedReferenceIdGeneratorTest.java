@@ -0,0 +1,54 @@
+package com.infotech.app.util;
+
+import java.util.UUID;
+
+import com.infotech.app.AbstractTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the TimeBasedReferenceIdGenerator.
+ * 
+ * @author MohammadReza Alagheband
+ */
+public class TimeBasedReferenceIdGeneratorTest extends AbstractTest {
+
+    private static final long NOW = 1500000000000L;
+
+    private TimeBasedReferenceIdGenerator generator;
+
+    @Override
+    public void doBeforeEachTest() {
+        generator = new TimeBasedReferenceIdGenerator(() -> NOW);
+    }
+
+    @Override
+    public void doAfterEachTest() {
+        // perform test clean up
+    }
+
+    @Test
+    public void testVersion7Layout() {
+
+        final UUID uuid = generator.generateUuid();
+
+        Assert.assertEquals("failure - expected version 7", 7, uuid.version());
+        Assert.assertEquals("failure - expected RFC 4122 variant", 2, uuid.variant());
+        Assert.assertEquals("failure - expected timestamp", NOW, uuid.getMostSignificantBits() >>> 16);
+
+    }
+
+    @Test
+    public void testOrderedWithinOneMillisecond() {
+
+        // More identifiers than the 12-bit sequence holds, all created at the same instant
+        String previous = generator.generate();
+        for (int i = 0; i < 5000; i++) {
+            final String next = generator.generate();
+            Assert.assertTrue("failure - expected increasing identifiers", next.compareTo(previous) > 0);
+            previous = next;
+        }
+
+    }
+
+}
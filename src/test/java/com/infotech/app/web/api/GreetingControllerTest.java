@@ -1,12 +1,20 @@
 package com.infotech.app.web.api;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.infotech.app.AbstractTest;
 import com.infotech.app.service.GreetingService;
@@ -16,6 +24,9 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -26,6 +37,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
 import com.infotech.app.model.Greeting;
+import com.infotech.app.service.EmailDispatchService;
 import com.infotech.app.service.EmailService;
 
 /**
@@ -52,6 +64,10 @@ public class GreetingControllerTest extends AbstractTest {
      * The resource single item URI.
      */
     private static final String RESOURCE_ITEM_URI = "/api/greetings/{id}";
+    /**
+     * The resource batch URI.
+     */
+    private static final String RESOURCE_BATCH_URI = "/api/greetings/batch";
     /**
      * The resource single item URI with the 'send' action.
      */
@@ -69,6 +85,12 @@ public class GreetingControllerTest extends AbstractTest {
     @MockBean
     private transient EmailService emailService;
 
+    /**
+     * A mocked EmailDispatchService.
+     */
+    @MockBean
+    private transient EmailDispatchService emailDispatchService;
+
     /**
      * A mock servlet environment.
      */
@@ -118,6 +140,67 @@ public class GreetingControllerTest extends AbstractTest {
 
     }
 
+    @Test
+    @WithMockUser
+    public void testGetGreetingsPage() throws Exception {
+
+        // Create some test data
+        final List<Greeting> list = new ArrayList<Greeting>(getEntityListStubData());
+
+        // Stub the GreetingService.findPage method return value
+        when(greetingService.findPage(isNull(Long.class), anyInt())).thenReturn(list);
+
+        // Perform the behavior being tested
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.get(RESOURCE_URI).param("limit", "1")
+                .accept(MediaType.APPLICATION_JSON)).andReturn();
+
+        // Extract the response status, headers, and body
+        final String content = result.getResponse().getContentAsString();
+        final int status = result.getResponse().getStatus();
+        final String link = result.getResponse().getHeader("Link");
+
+        // Verify the GreetingService.findPage method was invoked once
+        verify(greetingService, times(1)).findPage(null, 1);
+
+        // Perform standard JUnit assertions on the response
+        Assert.assertEquals("failure - expected HTTP status 200", 200, status);
+        Assert.assertTrue("failure - expected HTTP response body to have a value", !Strings.isNullOrEmpty(content));
+        Assert.assertNotNull("failure - expected Link header", link);
+        Assert.assertTrue("failure - expected next page after last id", link.contains("after=1"));
+
+    }
+
+    @Test
+    @WithMockUser
+    public void testStreamGreetings() throws Exception {
+
+        // Stub the GreetingService.streamAll method to supply three Greetings to the consumer
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            final Consumer<Greeting> consumer = (Consumer<Greeting>) invocation.getArguments()[0];
+            for (long id = 1; id <= 3; id++) {
+                final Greeting greeting = getEntityStubData();
+                greeting.setId(id);
+                consumer.accept(greeting);
+            }
+            return null;
+        }).when(greetingService).streamAll(any());
+
+        // Perform the behavior being tested
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.get(RESOURCE_URI).param("stream", "true")
+                .accept(MediaType.APPLICATION_JSON)).andReturn();
+
+        // Extract the response status and body
+        final int status = result.getResponse().getStatus();
+        final Greeting[] greetings = mapper.readValue(result.getResponse().getContentAsString(), Greeting[].class);
+
+        // Perform standard JUnit assertions on the response
+        Assert.assertEquals("failure - expected HTTP status 200", 200, status);
+        Assert.assertEquals("failure - expected 3 greetings", 3, greetings.length);
+        Assert.assertEquals("failure - expected greetings in order", Long.valueOf(3), greetings[2].getId());
+
+    }
+
     @Test
     @WithMockUser
     public void testGetGreeting() throws Exception {
@@ -146,6 +229,43 @@ public class GreetingControllerTest extends AbstractTest {
         Assert.assertTrue("failure - expected HTTP response body to have a value", !Strings.isNullOrEmpty(content));
     }
 
+    @Test
+    @WithMockUser
+    public void testGetGreetingNotModified() throws Exception {
+
+        // Create some test data
+        final Long id = new Long(1);
+        final Greeting entity = getEntityStubData();
+        entity.setVersion(3);
+
+        // Stub the GreetingService.findOne method return value
+        when(greetingService.findOne(id)).thenReturn(entity);
+
+        // Perform the behavior being tested
+        final MvcResult first = mvc
+                .perform(MockMvcRequestBuilders.get(RESOURCE_ITEM_URI, id).accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+        final String eTag = first.getResponse().getHeader("ETag");
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.get(RESOURCE_ITEM_URI, id)
+                .accept(MediaType.APPLICATION_JSON).header("If-None-Match", eTag)).andReturn();
+
+        // Extract the response status and body
+        final String content = result.getResponse().getContentAsString();
+        final int status = result.getResponse().getStatus();
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected ETag from id and version", "\"1-3\"", eTag);
+        Assert.assertEquals("failure - expected HTTP status 304", 304, status);
+        Assert.assertTrue("failure - expected HTTP response body to be empty", Strings.isNullOrEmpty(content));
+
+        // A new version no longer matches
+        entity.setVersion(4);
+        final MvcResult changed = mvc.perform(MockMvcRequestBuilders.get(RESOURCE_ITEM_URI, id)
+                .accept(MediaType.APPLICATION_JSON).header("If-None-Match", eTag)).andReturn();
+
+        Assert.assertEquals("failure - expected HTTP status 200", 200, changed.getResponse().getStatus());
+    }
+
     @Test
     @WithMockUser
     public void testGetGreetingNotFound() throws Exception {
@@ -249,6 +369,67 @@ public class GreetingControllerTest extends AbstractTest {
 
     }
 
+    @Test
+    @WithMockUser
+    public void testUpdateGreetingVersionConflict() throws Exception {
+
+        // Create some test data
+        final Greeting entity = getEntityStubData();
+        final Long id = new Long(1);
+
+        // Stub the GreetingService.update method to report a stale version
+        when(greetingService.update(any(Greeting.class)))
+                .thenThrow(new OptimisticLockingFailureException("Requested Greeting is not at version 0."));
+
+        // Perform the behavior being tested
+        final String inputJson = mapper.writeValueAsString(entity);
+
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.put(RESOURCE_ITEM_URI, id)
+                .header(HttpHeaders.IF_MATCH, "\"1-0\"").contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON).content(inputJson)).andReturn();
+
+        // Extract the response status
+        final int status = result.getResponse().getStatus();
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected HTTP status 409", 409, status);
+
+    }
+
+    @Test
+    @WithMockUser
+    public void testUpdateGreetingIfMatchComparison() throws Exception {
+
+        // Create some test data
+        final Greeting entity = getEntityStubData();
+        final Greeting current = getEntityStubData();
+        current.setVersion(4);
+        final Long id = new Long(1);
+        final String inputJson = mapper.writeValueAsString(entity);
+
+        // Stub the GreetingService methods, recording the version each update expects
+        when(greetingService.findOne(id)).thenReturn(current);
+        final List<Integer> versions = new ArrayList<Integer>();
+        doAnswer(invocation -> {
+            versions.add(((Greeting) invocation.getArguments()[0]).getVersion());
+            return entity;
+        }).when(greetingService).update(any(Greeting.class));
+
+        // Perform the behavior being tested with a weak tag, a list and a list with several versions of the Greeting
+        final String[] ifMatches = { "W/\"1-3\"", "\"2-5\", W/\"1-4\", \"1-3\"", "\"1-3\",\"1-4\"" };
+        for (final String ifMatch : ifMatches) {
+            mvc.perform(MockMvcRequestBuilders.put(RESOURCE_ITEM_URI, id).header(HttpHeaders.IF_MATCH, ifMatch)
+                    .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(inputJson))
+                    .andReturn();
+        }
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected weak tag never to match", Integer.valueOf(-1), versions.get(0));
+        Assert.assertEquals("failure - expected strong tag for the Greeting", Integer.valueOf(3), versions.get(1));
+        Assert.assertEquals("failure - expected current version among the tags", Integer.valueOf(4), versions.get(2));
+
+    }
+
     @Test
     @WithMockUser
     public void testDeleteGreeting() throws Exception {
@@ -272,6 +453,36 @@ public class GreetingControllerTest extends AbstractTest {
 
     }
 
+    @Test
+    @WithMockUser
+    public void testBatchWithNullElement() throws Exception {
+
+        // Create some test data containing a null element
+        final String greetingsJson = "[" + mapper.writeValueAsString(getEntityStubData()) + ",null]";
+        final String idsJson = "[1,null]";
+
+        // Perform the behavior being tested against each batch endpoint
+        final MvcResult createResult = mvc.perform(MockMvcRequestBuilders.post(RESOURCE_BATCH_URI)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(greetingsJson))
+                .andReturn();
+        final MvcResult updateResult = mvc.perform(MockMvcRequestBuilders.put(RESOURCE_BATCH_URI)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(greetingsJson))
+                .andReturn();
+        final MvcResult deleteResult = mvc.perform(MockMvcRequestBuilders.delete(RESOURCE_BATCH_URI)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(idsJson))
+                .andReturn();
+
+        // Verify no GreetingService batch method was invoked
+        verify(greetingService, times(0)).createAll(any());
+        verify(greetingService, times(0)).updateAll(any());
+        verify(greetingService, times(0)).deleteAll(any());
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected HTTP status 400", 400, createResult.getResponse().getStatus());
+        Assert.assertEquals("failure - expected HTTP status 400", 400, updateResult.getResponse().getStatus());
+        Assert.assertEquals("failure - expected HTTP status 400", 400, deleteResult.getResponse().getStatus());
+    }
+
     @Test
     @WithMockUser
     public void testSendGreetingAsync() throws Exception {
@@ -284,10 +495,12 @@ public class GreetingControllerTest extends AbstractTest {
         when(greetingService.findOne(id)).thenReturn(entity);
 
         // Perform the behavior being tested
-        final MvcResult result = mvc.perform(
+        final MvcResult asyncResult = mvc.perform(
                 MockMvcRequestBuilders.post(RESOURCE_ITEM_URI_ACTION_SEND, id).accept(MediaType.APPLICATION_JSON))
                 .andReturn();
 
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult)).andReturn();
+
         // Extract the response status and body
         final String content = result.getResponse().getContentAsString();
         final int status = result.getResponse().getStatus();
@@ -295,14 +508,127 @@ public class GreetingControllerTest extends AbstractTest {
         // Verify the GreetingService.findOne method was invoked once
         verify(greetingService, times(1)).findOne(id);
 
-        // Verify the EmailService.sendAsync method was invoked once
-        verify(emailService, times(1)).sendAsync(any(Greeting.class));
+        // Verify the EmailDispatchService.dispatch method was invoked once
+        verify(emailDispatchService, times(1)).dispatch(any(Greeting.class));
 
         // Perform standard JUnit assertions on the test results
         Assert.assertEquals("failure - expected HTTP status 200", 200, status);
         Assert.assertTrue("failure - expected HTTP response body to have a value", !Strings.isNullOrEmpty(content));
     }
 
+    @Test
+    @WithMockUser
+    public void testSendGreetingAndWait() throws Exception {
+
+        // Create some test data
+        final Long id = new Long(1);
+        final Greeting entity = getEntityStubData();
+
+        // Stub the GreetingService.findOne and EmailService.sendAsyncWithResult method return values
+        when(greetingService.findOne(id)).thenReturn(entity);
+        when(emailService.sendAsyncWithResult(any(Greeting.class))).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Perform the behavior being tested
+        final MvcResult asyncResult = mvc.perform(MockMvcRequestBuilders.post(RESOURCE_ITEM_URI_ACTION_SEND, id)
+                .param("wait", "true").accept(MediaType.APPLICATION_JSON)).andReturn();
+
+        Assert.assertTrue("failure - expected asynchronous request processing",
+                asyncResult.getRequest().isAsyncStarted());
+
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult)).andReturn();
+
+        // Extract the response status and body
+        final String content = result.getResponse().getContentAsString();
+        final int status = result.getResponse().getStatus();
+
+        // Verify the EmailService.sendAsyncWithResult method was invoked once
+        verify(emailService, times(1)).sendAsyncWithResult(any(Greeting.class));
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected HTTP status 200", 200, status);
+        Assert.assertTrue("failure - expected HTTP response body to have a value", !Strings.isNullOrEmpty(content));
+    }
+
+    @Test
+    @WithMockUser
+    public void testSendGreetingAsyncRejected() throws Exception {
+
+        // Create some test data
+        final Long id = new Long(1);
+        final Greeting entity = getEntityStubData();
+
+        // Stub the GreetingService.findOne method return value
+        when(greetingService.findOne(id)).thenReturn(entity);
+
+        // Stub the EmailDispatchService.dispatch method to simulate a full queue
+        doThrow(new RejectedExecutionException("Queue is full")).when(emailDispatchService)
+                .dispatch(any(Greeting.class));
+
+        // Perform the behavior being tested
+        final MvcResult result = mvc.perform(
+                MockMvcRequestBuilders.post(RESOURCE_ITEM_URI_ACTION_SEND, id).accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        // Extract the response status and headers
+        final int status = result.getResponse().getStatus();
+        final String retryAfter = result.getResponse().getHeader("Retry-After");
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected HTTP status 503", 503, status);
+        Assert.assertNotNull("failure - expected Retry-After header", retryAfter);
+    }
+
+    @Test
+    @WithMockUser
+    public void testSendGreetingAndWaitParameterForms() throws Exception {
+
+        // Create some test data
+        final Long id = new Long(1);
+        final Greeting entity = getEntityStubData();
+
+        // Stub the GreetingService.findOne and EmailService.sendAsyncWithResult method return values
+        when(greetingService.findOne(id)).thenReturn(entity);
+        when(emailService.sendAsyncWithResult(any(Greeting.class))).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Perform the behavior being tested with each accepted form of a true value
+        for (final String wait : new String[] { "TRUE", "1", "yes" }) {
+            mvc.perform(MockMvcRequestBuilders.post(RESOURCE_ITEM_URI_ACTION_SEND, id).param("wait", wait)
+                    .accept(MediaType.APPLICATION_JSON)).andReturn();
+        }
+
+        // Verify every request waited for the email rather than queueing it
+        verify(emailService, times(3)).sendAsyncWithResult(any(Greeting.class));
+        verify(emailDispatchService, times(0)).dispatch(any(Greeting.class));
+    }
+
+    @Test
+    @WithMockUser
+    public void testSendGreetingAndWaitRejected() throws Exception {
+
+        // Create some test data
+        final Long id = new Long(1);
+        final Greeting entity = getEntityStubData();
+
+        // Stub the GreetingService.findOne method return value
+        when(greetingService.findOne(id)).thenReturn(entity);
+
+        // Stub the EmailService.sendAsyncWithResult method to simulate an exhausted @Async executor
+        when(emailService.sendAsyncWithResult(any(Greeting.class)))
+                .thenThrow(new TaskRejectedException("Executor is full"));
+
+        // Perform the behavior being tested
+        final MvcResult result = mvc.perform(MockMvcRequestBuilders.post(RESOURCE_ITEM_URI_ACTION_SEND, id)
+                .param("wait", "true").accept(MediaType.APPLICATION_JSON)).andReturn();
+
+        // Extract the response status and headers
+        final int status = result.getResponse().getStatus();
+        final String retryAfter = result.getResponse().getHeader("Retry-After");
+
+        // Perform standard JUnit assertions on the test results
+        Assert.assertEquals("failure - expected HTTP status 503", 503, status);
+        Assert.assertNotNull("failure - expected Retry-After header", retryAfter);
+    }
+
     private Collection<Greeting> getEntityListStubData() {
         final Collection<Greeting> list = new ArrayList<Greeting>();
         list.add(getEntityStubData());